@@ -2,10 +2,11 @@ plugins {
     id("java")
     id("maven-publish")
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "me.levitate"
-version = "1.4.4"
+version = "2.0.0"
 
 repositories {
     mavenCentral()
@@ -13,11 +14,28 @@ repositories {
     maven("https://repo.papermc.io/repository/maven-public/")
 }
 
+val paperApi = "io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT"
+val placeholderApi = "me.clip:placeholderapi:2.11.6"
+
 dependencies {
-    compileOnly("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
-    compileOnly("me.clip:placeholderapi:2.11.6")
+    compileOnly(paperApi)
+    compileOnly(placeholderApi)
     compileOnly("org.projectlombok:lombok:1.18.30")
     annotationProcessor("org.projectlombok:lombok:1.18.30")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testImplementation(paperApi)
+    testImplementation(placeholderApi)
+
+    // Provided by the server at runtime, so benchmarks bring their own copy
+    jmhImplementation(paperApi)
+    jmhImplementation(placeholderApi)
+}
+
+jmh {
+    jmhVersion.set("1.37")
 }
 
 java {
@@ -28,6 +46,10 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
 tasks.shadowJar {
     archiveClassifier.set("")
 }
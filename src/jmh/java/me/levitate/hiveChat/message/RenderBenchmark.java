@@ -0,0 +1,61 @@
+package me.levitate.hiveChat.message;
+
+import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderTemplate;
+import me.levitate.hiveChat.util.ColorUtil;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Rendering a template with placeholders into a pre-parsed component tree against splicing the values
+ * into the text and parsing it again, the two render modes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    private static final String TEMPLATE = "<gold>[{rank}]</gold> <white>{player}</white><gray>: "
+            + "<hover:show_text:'<yellow>Level 12'>{message}</hover>";
+
+    private MessageText text;
+    private PlaceholderTemplate template;
+    private Function<String, Placeholder> placeholders;
+
+    @Setup
+    public void setUp() {
+        text = MessageText.of(TEMPLATE);
+        template = PlaceholderTemplate.compile(TEMPLATE);
+
+        Placeholder[] values = {
+                Placeholder.of("rank", "<red>Admin"),
+                Placeholder.unparsed("player", "Notch"),
+                Placeholder.unparsed("message", "hello there, anyone up for a round?")
+        };
+        placeholders = key -> Placeholder.find(key, values);
+    }
+
+    @Benchmark
+    public Component componentTree() {
+        return text.renderTree(placeholders);
+    }
+
+    @Benchmark
+    public Component stringSplice() {
+        return ColorUtil.parseMessageFormats(template.renderPlaceholders(placeholders));
+    }
+}
@@ -0,0 +1,72 @@
+package me.levitate.hiveChat.parser;
+
+import me.levitate.hiveChat.message.ParsedMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Parse time by template length next to the cost of handing a parse to another thread.
+ * Templates that parse faster than the hand-off are parsed inline, see HiveChatSettings#getInlineParseThreshold,
+ * and the time per character is what a unit of parse cache weight saves on a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseThresholdBenchmark {
+    private static final String SEGMENT = "<gradient:gold:yellow>Welcome</gradient> {player}, <gray>you have "
+            + "<green>{coins}</green> coins.</gray> ";
+
+    @Param({"64", "256", "1024", "4096"})
+    public int length;
+
+    private String template;
+    private TagTokenizer tokenizer;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(length + SEGMENT.length());
+        while (builder.length() < length) {
+            builder.append(SEGMENT);
+        }
+        builder.setLength(length);
+        template = builder.toString();
+        tokenizer = new TagTokenizer(Logger.getLogger("hivechat-bench"));
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ParsedMessage parseInline() {
+        return tokenizer.tokenize(template);
+    }
+
+    @Benchmark
+    public ParsedMessage parseHandedOff() {
+        return CompletableFuture.supplyAsync(() -> tokenizer.tokenize(template), executor).join();
+    }
+}
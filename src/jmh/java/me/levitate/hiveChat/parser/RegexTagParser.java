@@ -0,0 +1,83 @@
+package me.levitate.hiveChat.parser;
+
+import me.levitate.hiveChat.message.ActionBar;
+import me.levitate.hiveChat.message.BossBarComponent;
+import me.levitate.hiveChat.message.MessageComponent;
+import me.levitate.hiveChat.message.ParsedMessage;
+import me.levitate.hiveChat.message.TitleComponent;
+import org.bukkit.Sound;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex sweeps MessageParser used before {@link TagTokenizer}, kept as the baseline for benchmarks.
+ * Components are built with the current factories, so only the scanning differs.
+ */
+final class RegexTagParser {
+    private static final Pattern SOUND_PATTERN = Pattern.compile("<sound:([A-Za-z0-9_]+)(?::(\\d+(?:\\.\\d+)?):?(\\d+(?:\\.\\d+)?)?)>");
+    private static final Pattern ACTIONBAR_PATTERN = Pattern.compile("<actionbar(?::(\\d+))?>(.*?)</actionbar>", Pattern.DOTALL);
+    private static final Pattern BOSSBAR_PATTERN = Pattern.compile("<bossbar:([^:]+):([^:]+):([^:>]+)(?::(\\d+))?>(.*?)</bossbar>", Pattern.DOTALL);
+    private static final Pattern TITLE_PATTERN = Pattern.compile("<title(?::(\\d+):(\\d+):(\\d+))?>(.*?)\\|(.*?)</title>", Pattern.DOTALL);
+
+    private RegexTagParser() {}
+
+    static ParsedMessage parse(String message) {
+        List<MessageComponent> parsed = new ArrayList<>();
+        StringBuilder remainingText = new StringBuilder(message);
+
+        Matcher titleMatcher = TITLE_PATTERN.matcher(remainingText);
+        while (titleMatcher.find()) {
+            int fadeIn = titleMatcher.group(1) != null ? Integer.parseInt(titleMatcher.group(1)) : 10;
+            int stay = titleMatcher.group(2) != null ? Integer.parseInt(titleMatcher.group(2)) : 70;
+            int fadeOut = titleMatcher.group(3) != null ? Integer.parseInt(titleMatcher.group(3)) : 20;
+            parsed.add(MessageComponent.title(TitleComponent.of(titleMatcher.group(4).trim(),
+                    titleMatcher.group(5).trim(), fadeIn, stay, fadeOut)));
+
+            remainingText.replace(titleMatcher.start(), titleMatcher.end(), "");
+            titleMatcher.region(0, remainingText.length());
+        }
+
+        Matcher soundMatcher = SOUND_PATTERN.matcher(remainingText);
+        while (soundMatcher.find()) {
+            Sound sound = Sound.valueOf(soundMatcher.group(1).toUpperCase());
+            float volume = soundMatcher.group(2) != null ? Float.parseFloat(soundMatcher.group(2)) : 1.0f;
+            float pitch = soundMatcher.group(3) != null ? Float.parseFloat(soundMatcher.group(3)) : 1.0f;
+            parsed.add(MessageComponent.sound(sound, volume, pitch));
+
+            remainingText.replace(soundMatcher.start(), soundMatcher.end(), "");
+            soundMatcher.region(0, remainingText.length());
+        }
+
+        Matcher actionBarMatcher = ACTIONBAR_PATTERN.matcher(remainingText);
+        while (actionBarMatcher.find()) {
+            int duration = actionBarMatcher.group(1) != null ? Integer.parseInt(actionBarMatcher.group(1)) : 60;
+            parsed.add(MessageComponent.actionBar(ActionBar.of(actionBarMatcher.group(2), duration)));
+
+            remainingText.replace(actionBarMatcher.start(), actionBarMatcher.end(), "");
+            actionBarMatcher.region(0, remainingText.length());
+        }
+
+        Matcher bossBarMatcher = BOSSBAR_PATTERN.matcher(remainingText);
+        while (bossBarMatcher.find()) {
+            BarColor color = BarColor.valueOf(bossBarMatcher.group(1).toUpperCase());
+            BarStyle style = BarStyle.valueOf(bossBarMatcher.group(2).toUpperCase());
+            double progress = Double.parseDouble(bossBarMatcher.group(3));
+            int duration = bossBarMatcher.group(4) != null ? Integer.parseInt(bossBarMatcher.group(4)) : 600;
+            parsed.add(MessageComponent.bossBar(BossBarComponent.of(bossBarMatcher.group(5), color, style, progress, duration)));
+
+            remainingText.replace(bossBarMatcher.start(), bossBarMatcher.end(), "");
+            bossBarMatcher.region(0, remainingText.length());
+        }
+
+        String remaining = remainingText.toString().trim();
+        if (!remaining.isEmpty()) {
+            parsed.add(MessageComponent.content(remaining));
+        }
+        return new ParsedMessage(parsed);
+    }
+}
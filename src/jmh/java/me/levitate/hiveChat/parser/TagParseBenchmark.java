@@ -0,0 +1,62 @@
+package me.levitate.hiveChat.parser;
+
+import me.levitate.hiveChat.message.ParsedMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Cold-cache parse throughput of the single-pass tag tokenizer against the old regex sweeps,
+ * for templates carrying a growing number of HiveChat tags
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagParseBenchmark {
+    private static final String[] TAGS = {
+            "<title:10:40:10><gold>Round {round}|<gray>Get ready</title>",
+            "<sound:ENTITY_PLAYER_LEVELUP:1.0:1.2>",
+            "<actionbar:60><yellow>{player} scored</actionbar>",
+            "<bossbar:RED:SOLID:0.5:100><red>Boss {health}</bossbar>"
+    };
+
+    @Param({"1", "8", "64"})
+    public int tags;
+
+    private String template;
+    private TagTokenizer tokenizer;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tags; i++) {
+            builder.append("<green>Line ").append(i).append(" for {player}</green> ").append(TAGS[i % TAGS.length]);
+        }
+        template = builder.toString();
+        tokenizer = new TagTokenizer(Logger.getLogger("hivechat-bench"));
+    }
+
+    @Benchmark
+    public ParsedMessage tokenizer() {
+        return tokenizer.tokenize(template);
+    }
+
+    @Benchmark
+    public ParsedMessage regexSweeps() {
+        return RegexTagParser.parse(template);
+    }
+}
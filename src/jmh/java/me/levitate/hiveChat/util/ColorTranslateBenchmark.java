@@ -0,0 +1,107 @@
+package me.levitate.hiveChat.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The single-pass color scanner against the regex chain it replaced, a hex pass followed by a legacy code pass
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorTranslateBenchmark {
+    private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
+    private static final Pattern LEGACY_PATTERN = Pattern.compile("&([0-9a-fk-or])", Pattern.CASE_INSENSITIVE);
+
+    @Param({"plain", "hex", "legacy"})
+    public String text;
+
+    private String message;
+
+    @Setup
+    public void setUp() {
+        message = switch (text) {
+            case "plain" -> "Welcome back to the server, enjoy your stay and read the rules before you start";
+            case "hex" -> "&#FFAA00Welcome back &#55FF55to the server, &#AAAAAAenjoy your stay and read the rules";
+            case "legacy" -> "&6Welcome back &ato the server, &7enjoy your stay &land &#FF5555read the rules";
+            default -> throw new IllegalArgumentException(text);
+        };
+        ColorUtil.setLegacyCodes(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ColorUtil.setLegacyCodes(false);
+    }
+
+    @Benchmark
+    public String scanner() {
+        return ColorUtil.translateColors(message);
+    }
+
+    @Benchmark
+    public String regexChain() {
+        return translateWithRegex(message);
+    }
+
+    private static String translateWithRegex(String message) {
+        Matcher hex = HEX_PATTERN.matcher(message);
+        StringBuilder buffer = new StringBuilder();
+        while (hex.find()) {
+            hex.appendReplacement(buffer, "<#" + hex.group(1) + ">");
+        }
+        hex.appendTail(buffer);
+
+        Matcher legacy = LEGACY_PATTERN.matcher(buffer.toString());
+        StringBuilder result = new StringBuilder();
+        while (legacy.find()) {
+            legacy.appendReplacement(result, legacyTag(legacy.group(1).charAt(0)));
+        }
+        legacy.appendTail(result);
+        return result.toString();
+    }
+
+    private static String legacyTag(char code) {
+        return switch (Character.toLowerCase(code)) {
+            case '0' -> "<black>";
+            case '1' -> "<dark_blue>";
+            case '2' -> "<dark_green>";
+            case '3' -> "<dark_aqua>";
+            case '4' -> "<dark_red>";
+            case '5' -> "<dark_purple>";
+            case '6' -> "<gold>";
+            case '7' -> "<gray>";
+            case '8' -> "<dark_gray>";
+            case '9' -> "<blue>";
+            case 'a' -> "<green>";
+            case 'b' -> "<aqua>";
+            case 'c' -> "<red>";
+            case 'd' -> "<light_purple>";
+            case 'e' -> "<yellow>";
+            case 'f' -> "<white>";
+            case 'k' -> "<obfuscated>";
+            case 'l' -> "<bold>";
+            case 'm' -> "<strikethrough>";
+            case 'n' -> "<underlined>";
+            case 'o' -> "<italic>";
+            default -> "<reset>";
+        };
+    }
+}
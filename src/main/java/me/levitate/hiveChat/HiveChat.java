@@ -2,12 +2,20 @@ package me.levitate.hiveChat;
 
 import lombok.Getter;
 import me.levitate.hiveChat.cache.PlayerCache;
+import me.levitate.hiveChat.cache.PlayerLocationIndex;
 import me.levitate.hiveChat.chain.MessageChain;
+import me.levitate.hiveChat.message.BroadcastDispatcher;
+import me.levitate.hiveChat.message.BroadcastReport;
+import me.levitate.hiveChat.message.BroadcastStats;
 import me.levitate.hiveChat.message.MessageRegistry;
 import me.levitate.hiveChat.message.ParsedMessage;
+import me.levitate.hiveChat.message.RenderMode;
+import me.levitate.hiveChat.parser.CompileReport;
 import me.levitate.hiveChat.parser.MessageParser;
 import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderSet;
 import me.levitate.hiveChat.placeholder.UniversalPlaceholderManager;
+import me.levitate.hiveChat.util.ColorUtil;
 import me.levitate.hiveChat.util.ServerUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -18,17 +26,21 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 public final class HiveChat {
     private static HiveChat instance;
     @Getter private final Plugin plugin;
     @Getter private final MessageParser messageParser;
+    private final ThreadPoolExecutor parseExecutor;
     private final PlayerCache playerCache;
+    private final PlayerLocationIndex locationIndex;
     private final MessageRegistry messageRegistry;
+    private final BroadcastDispatcher broadcastDispatcher;
 
     private final Map<UUID, Queue<QueuedMessage>> playerMessageQueues = new ConcurrentHashMap<>();
     private final Map<String, Queue<QueuedMessage>> senderMessageQueues = new ConcurrentHashMap<>();
@@ -36,14 +48,19 @@ public final class HiveChat {
     private final Map<String, Boolean> senderProcessingFlags = new ConcurrentHashMap<>();
     private boolean papiEnabled = false;
 
-    private HiveChat(Plugin plugin) {
+    private HiveChat(Plugin plugin, HiveChatSettings settings) {
         this.plugin = plugin;
-        this.messageParser = new MessageParser(plugin);
+        ColorUtil.setLegacyCodes(settings.isLegacyColorCodes());
+        this.parseExecutor = createParseExecutor(settings);
+        this.messageParser = new MessageParser(plugin, settings, parseExecutor);
         this.playerCache = new PlayerCache(plugin);
+        this.locationIndex = new PlayerLocationIndex(plugin);
+        UniversalPlaceholderManager.getInstance().getValueCache().registerListeners(plugin);
         this.messageRegistry = new MessageRegistry();
         
         // Initialize ServerUtil with our plugin instance
         ServerUtil.init(plugin);
+        this.broadcastDispatcher = new BroadcastDispatcher(plugin.getLogger(), settings);
 
         ServerUtil.runTaskTimer(this::performCleanup, 1200L, 1200L); // Every minute
         
@@ -52,15 +69,39 @@ public final class HiveChat {
             @EventHandler
             public void onPluginDisable(PluginDisableEvent event) {
                 if (event.getPlugin().equals(plugin)) {
+                    broadcastDispatcher.shutdown();
                     ServerUtil.cancelAllTasks();
+                    parseExecutor.shutdown();
                 }
             }
         }, plugin);
     }
 
+    private static ThreadPoolExecutor createParseExecutor(HiveChatSettings settings) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = task -> {
+            Thread thread = new Thread(task, "HiveChat Parser #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // When the queue is full the caller parses the template itself, slowing down whoever floods the parser
+        RejectedExecutionHandler parseOnCaller = (task, executor) -> task.run();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(settings.getParseThreads(), settings.getParseThreads(),
+                30L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(settings.getParseQueueCapacity()),
+                threadFactory, parseOnCaller);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public static void init(Plugin plugin) {
+        init(plugin, HiveChatSettings.defaults());
+    }
+
+    public static void init(Plugin plugin, HiveChatSettings settings) {
         if (instance == null) {
-            instance = new HiveChat(plugin);
+            instance = new HiveChat(plugin, settings != null ? settings : HiveChatSettings.defaults());
         }
 
         enablePAPI();
@@ -78,19 +119,27 @@ public final class HiveChat {
     }
 
     public static void send(Player player, String message, Placeholder... placeholders) {
+        send(player, message, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void send(Player player, String message, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
         if (player == null || !player.isOnline()) return;
 
         CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseAsync(message);
-        instance.queuePlayerMessage(player, messageFuture, placeholders);
+        instance.queuePlayerMessage(player, messageFuture, set, placeholders);
     }
 
     public static void send(CommandSender sender, String message, Placeholder... placeholders) {
+        send(sender, message, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void send(CommandSender sender, String message, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
         if (sender == null) return;
 
         CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseAsync(message);
-        instance.queueSenderMessage(sender, messageFuture, placeholders);
+        instance.queueSenderMessage(sender, messageFuture, set, placeholders);
     }
 
     public static void send(UUID playerId, String message, Placeholder... placeholders) {
@@ -101,94 +150,169 @@ public final class HiveChat {
         }
     }
 
+    public static void send(UUID playerId, String message, PlaceholderSet set, Placeholder... placeholders) {
+        checkInitialized();
+        Player player = instance.playerCache.getPlayer(playerId);
+        if (player != null) {
+            send(player, message, set, placeholders);
+        }
+    }
+
     public static void sendList(Player player, List<String> messages, Placeholder... placeholders) {
+        sendList(player, messages, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void sendList(Player player, List<String> messages, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
         if (player == null || !player.isOnline() || messages == null || messages.isEmpty()) return;
 
-        for (String message : messages) {
-            CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseAsync(message);
-            instance.queuePlayerMessage(player, messageFuture, placeholders);
-        }
+        // Every line in one message, a single queue entry and a single chat packet
+        CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseLinesAsync(messages);
+        instance.queuePlayerMessage(player, messageFuture, set, placeholders);
     }
 
     public static void sendList(CommandSender sender, List<String> messages, Placeholder... placeholders) {
+        sendList(sender, messages, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void sendList(CommandSender sender, List<String> messages, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
         if (sender == null || messages == null || messages.isEmpty()) return;
 
         if (sender instanceof Player player) {
-            sendList(player, messages, placeholders);
+            sendList(player, messages, set, placeholders);
             return;
         }
 
-        for (String message : messages) {
-            CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseAsync(message);
-            instance.queueSenderMessage(sender, messageFuture, placeholders);
-        }
+        CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseLinesAsync(messages);
+        instance.queueSenderMessage(sender, messageFuture, set, placeholders);
     }
 
     public static void broadcast(String message, Placeholder... placeholders) {
+        broadcast(message, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void broadcast(String message, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
         CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseAsync(message);
 
-        messageFuture.thenAccept(parsed -> ServerUtil.runTask(() -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                parsed.send(player, placeholders);
-            }
-        }));
+        messageFuture.thenAccept(parsed -> ServerUtil.runTask(() ->
+                parsed.broadcast(List.copyOf(Bukkit.getOnlinePlayers()), set, placeholders)));
     }
 
     public static void broadcast(int radius, Location center, String message, Placeholder... placeholders) {
+        broadcast(radius, center, message, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void broadcast(int radius, Location center, String message, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
         if (center == null || center.getWorld() == null) return;
 
         CompletableFuture<ParsedMessage> messageFuture = instance.messageParser.parseAsync(message);
 
-        messageFuture.thenAccept(parsed -> {
-            List<Player> nearbyPlayers = center.getWorld().getPlayers().stream()
-                    .filter(p -> p.getLocation().distance(center) <= radius)
-                    .toList();
-                    
-            for (Player player : nearbyPlayers) {
-                ServerUtil.runAtEntity(player, p -> 
-                    parsed.send(p, placeholders));
-            }
-        });
+        // Captured now, the caller may reuse the location before the message is parsed
+        Location origin = center.clone();
+        messageFuture.thenAccept(parsed ->
+                parsed.broadcast(instance.locationIndex.getNearbyPlayers(origin, radius), set, placeholders));
     }
 
-    public static void broadcastList(List<String> messages, Placeholder... placeholders) {
+    public static CompletableFuture<BroadcastReport> broadcastSpread(String message, Placeholder... placeholders) {
+        return broadcastSpread(message, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    /**
+     * Broadcast a message to all online players, spread across ticks within the broadcast tick budget
+     * @param message The message
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
+     * @return A future completed once every player received the message
+     */
+    public static CompletableFuture<BroadcastReport> broadcastSpread(String message, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
-        if (messages == null || messages.isEmpty()) return;
+        // Taken on the calling thread, the parse may complete on a thread that must not read server state
+        List<Player> recipients = List.copyOf(Bukkit.getOnlinePlayers());
+        return instance.messageParser.parseAsync(message).thenCompose(parsed ->
+                instance.broadcastDispatcher.submit(parsed, recipients, set, placeholders));
+    }
 
-        List<Player> players = new ArrayList<>(Bukkit.getOnlinePlayers());
+    public static CompletableFuture<BroadcastReport> broadcastSavedSpread(String key, Placeholder... placeholders) {
+        return broadcastSavedSpread(key, PlaceholderSet.EMPTY, placeholders);
+    }
 
-        for (Player player : players) {
-            sendList(player, messages, placeholders);
+    /**
+     * Broadcast a saved message to all online players, spread across ticks within the broadcast tick budget
+     * @param key The saved message key
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
+     * @return A future completed once every player received the message, or with an empty report if nothing is saved under the key
+     */
+    public static CompletableFuture<BroadcastReport> broadcastSavedSpread(String key, PlaceholderSet set, Placeholder... placeholders) {
+        checkInitialized();
+        ParsedMessage saved = instance.messageParser.getPinnedMessage(key);
+        if (saved == null) {
+            return CompletableFuture.completedFuture(new BroadcastReport(0, 0, 0L));
         }
+        return instance.broadcastDispatcher.submit(saved, Bukkit.getOnlinePlayers(), set, placeholders);
+    }
+
+    /**
+     * @return The counters of broadcasts spread across ticks
+     */
+    public static BroadcastStats getBroadcastStats() {
+        checkInitialized();
+        return instance.broadcastDispatcher.getStats();
+    }
+
+    public static void broadcastList(List<String> messages, Placeholder... placeholders) {
+        broadcastList(messages, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void broadcastList(List<String> messages, PlaceholderSet set, Placeholder... placeholders) {
+        checkInitialized();
+        if (messages == null || messages.isEmpty()) return;
+
+        // Compiled once for every player, and rendered once when it looks the same to all of them
+        instance.messageParser.parseLinesAsync(messages).thenAccept(parsed -> ServerUtil.runTask(() ->
+                parsed.broadcast(List.copyOf(Bukkit.getOnlinePlayers()), set, placeholders)));
     }
 
     public static void saveMessage(String key, String message) {
         checkInitialized();
-        instance.messageParser.parseAsync(message).thenAccept(parsed ->
-                instance.messageParser.cacheMessage(key, parsed));
+        instance.messageParser.pinMessage(key, message);
+    }
+
+    /**
+     * Compile and save a set of messages in parallel, making them available all at once
+     * @param messages The raw messages by key
+     * @return A future completed with the compile report once every message is saved
+     */
+    public static CompletableFuture<CompileReport> saveMessages(Map<String, String> messages) {
+        checkInitialized();
+        return instance.messageParser.pinMessagesAsync(messages);
     }
 
     public static void sendSaved(String key, Player player, Placeholder... placeholders) {
+        sendSaved(key, player, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void sendSaved(String key, Player player, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
-        ParsedMessage saved = instance.messageParser.getCachedMessage(key);
+        ParsedMessage saved = instance.messageParser.getPinnedMessage(key);
         if (saved != null && player != null && player.isOnline()) {
             ServerUtil.runAtEntity(player, p -> 
-                saved.send(p, placeholders));
+                saved.send(p, set, placeholders));
         }
     }
 
     public static void broadcastSaved(String key, Placeholder... placeholders) {
+        broadcastSaved(key, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public static void broadcastSaved(String key, PlaceholderSet set, Placeholder... placeholders) {
         checkInitialized();
-        ParsedMessage saved = instance.messageParser.getCachedMessage(key);
+        ParsedMessage saved = instance.messageParser.getPinnedMessage(key);
         if (saved != null) {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                ServerUtil.runAtEntity(player, p ->
-                    saved.send(p, placeholders));
-            }
+            saved.broadcast(List.copyOf(Bukkit.getOnlinePlayers()), set, placeholders);
         }
     }
     
@@ -202,6 +326,16 @@ public final class HiveChat {
         return UniversalPlaceholderManager.getInstance().addDynamicPlaceholder(key, valueSupplier);
     }
     
+    public static UniversalPlaceholderManager addDynamicPlaceholder(String key, Function<Player, String> valueSupplier, Duration ttl) {
+        checkInitialized();
+        return UniversalPlaceholderManager.getInstance().addDynamicPlaceholder(key, valueSupplier, ttl);
+    }
+    
+    public static UniversalPlaceholderManager invalidatePlaceholder(Player player, String key) {
+        checkInitialized();
+        return UniversalPlaceholderManager.getInstance().invalidate(player, key);
+    }
+    
     public static UniversalPlaceholderManager removeUniversalPlaceholder(String key) {
         checkInitialized();
         return UniversalPlaceholderManager.getInstance().removePlaceholder(key);
@@ -227,16 +361,36 @@ public final class HiveChat {
         instance.messageRegistry.send(key, player, placeholders);
     }
     
+    public static void sendRegistered(String key, Player player, PlaceholderSet set, Placeholder... placeholders) {
+        checkInitialized();
+        instance.messageRegistry.send(key, player, set, placeholders);
+    }
+    
     public static void sendRegistered(String key, CommandSender sender, Placeholder... placeholders) {
         checkInitialized();
         instance.messageRegistry.send(key, sender, placeholders);
     }
     
+    public static void sendRegistered(String key, CommandSender sender, PlaceholderSet set, Placeholder... placeholders) {
+        checkInitialized();
+        instance.messageRegistry.send(key, sender, set, placeholders);
+    }
+    
     public static void broadcastRegistered(String key, Placeholder... placeholders) {
         checkInitialized();
         instance.messageRegistry.broadcast(key, placeholders);
     }
     
+    public static void broadcastRegistered(String key, PlaceholderSet set, Placeholder... placeholders) {
+        checkInitialized();
+        instance.messageRegistry.broadcast(key, set, placeholders);
+    }
+    
+    public static void setRenderMode(RenderMode renderMode) {
+        checkInitialized();
+        instance.messageParser.setRenderMode(renderMode);
+    }
+    
     public static boolean isFolia() {
         return ServerUtil.isFolia();
     }
@@ -251,6 +405,22 @@ public final class HiveChat {
         return instance.papiEnabled;
     }
 
+    /**
+     * Get the players within a radius of a location, by their last recorded position. Safe to call from any thread.
+     * @param center The center
+     * @param radius The radius in blocks
+     * @return The players within the radius
+     */
+    public static List<Player> getNearbyPlayers(Location center, double radius) {
+        checkInitialized();
+        return instance.locationIndex.getNearbyPlayers(center, radius);
+    }
+
+    public static PlayerLocationIndex getLocationIndex() {
+        checkInitialized();
+        return instance.locationIndex;
+    }
+
     public static MessageParser getParser() {
         return instance.messageParser;
     }
@@ -295,13 +465,17 @@ public final class HiveChat {
                 processNextSenderMessage(entry.getKey(), sender);
             }
         }
+
+        // Drop placeholder values of players who quit while a render was still running
+        UniversalPlaceholderManager.getInstance().getValueCache().cleanup();
+        messageParser.getPapiResolver().cleanup();
     }
 
-    private void queuePlayerMessage(Player player, CompletableFuture<ParsedMessage> messageFuture, Placeholder... placeholders) {
+    private void queuePlayerMessage(Player player, CompletableFuture<ParsedMessage> messageFuture, PlaceholderSet set, Placeholder... placeholders) {
         UUID playerId = player.getUniqueId();
         
         Queue<QueuedMessage> queue = playerMessageQueues.computeIfAbsent(playerId, k -> new LinkedList<>());
-        queue.add(new QueuedMessage(messageFuture, placeholders));
+        queue.add(new QueuedMessage(messageFuture, set, placeholders));
         
         if (!playerProcessingFlags.getOrDefault(playerId, false)) {
             processNextPlayerMessage(playerId);
@@ -326,7 +500,7 @@ public final class HiveChat {
             Player player = playerCache.getPlayer(playerId);
             if (player != null && player.isOnline()) {
                 ServerUtil.runAtEntity(player, p -> {
-                    parsedMessage.send(p, queuedMessage.placeholders);
+                    parsedMessage.send(p, queuedMessage.set, queuedMessage.placeholders);
                     
                     ServerUtil.runTask(() -> {
                         playerProcessingFlags.put(playerId, false);
@@ -344,11 +518,11 @@ public final class HiveChat {
         });
     }
 
-    private void queueSenderMessage(CommandSender sender, CompletableFuture<ParsedMessage> messageFuture, Placeholder... placeholders) {
+    private void queueSenderMessage(CommandSender sender, CompletableFuture<ParsedMessage> messageFuture, PlaceholderSet set, Placeholder... placeholders) {
         String senderId = sender instanceof Player player ? player.getUniqueId().toString() : sender.getName();
         
         Queue<QueuedMessage> queue = senderMessageQueues.computeIfAbsent(senderId, k -> new LinkedList<>());
-        queue.add(new QueuedMessage(messageFuture, placeholders));
+        queue.add(new QueuedMessage(messageFuture, set, placeholders));
         
         if (!senderProcessingFlags.getOrDefault(senderId, false)) {
             processNextSenderMessage(senderId, sender);
@@ -372,7 +546,7 @@ public final class HiveChat {
         queuedMessage.messageFuture.thenAccept(parsedMessage -> {
             if (sender instanceof Player player) {
                 ServerUtil.runAtEntity(player, p -> {
-                    parsedMessage.send(p, queuedMessage.placeholders);
+                    parsedMessage.send(p, queuedMessage.set, queuedMessage.placeholders);
                     
                     ServerUtil.runTask(() -> {
                         senderProcessingFlags.put(senderId, false);
@@ -381,7 +555,7 @@ public final class HiveChat {
                 });
             } else {
                 ServerUtil.runTask(() -> {
-                    parsedMessage.send(sender, queuedMessage.placeholders);
+                    parsedMessage.send(sender, queuedMessage.set, queuedMessage.placeholders);
                     senderProcessingFlags.put(senderId, false);
                     processNextSenderMessage(senderId, sender);
                 });
@@ -393,5 +567,5 @@ public final class HiveChat {
         });
     }
 
-    private record QueuedMessage(CompletableFuture<ParsedMessage> messageFuture, Placeholder[] placeholders) { }
+    private record QueuedMessage(CompletableFuture<ParsedMessage> messageFuture, PlaceholderSet set, Placeholder[] placeholders) { }
 }
\ No newline at end of file
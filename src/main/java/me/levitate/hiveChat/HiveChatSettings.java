@@ -0,0 +1,206 @@
+package me.levitate.hiveChat;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tunable settings for HiveChat, passed to {@link HiveChat#init(org.bukkit.plugin.Plugin, HiveChatSettings)}
+ */
+public class HiveChatSettings {
+    private long parseCacheMaxWeight = 1_000_000;
+    private Duration parseCacheExpiry = Duration.ofMinutes(5);
+    private int inlineParseThreshold = 256;
+    private int parseThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private int parseQueueCapacity = 1024;
+    private boolean legacyColorCodes = false;
+    private Duration papiCacheTtl = Duration.ZERO;
+    private final Map<String, Duration> papiIdentifierTtls = new HashMap<>();
+    private Duration broadcastTickBudget = Duration.ofMillis(2);
+    private int broadcastRecipientsPerTick = 0;
+
+    /**
+     * @return A new settings instance with every value at its default
+     */
+    public static HiveChatSettings defaults() {
+        return new HiveChatSettings();
+    }
+
+    public long getParseCacheMaxWeight() {
+        return parseCacheMaxWeight;
+    }
+
+    /**
+     * Set the maximum total weight of the parse cache, where each entry weighs its template length in characters
+     * @param parseCacheMaxWeight The maximum weight, 1,000,000 by default
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setParseCacheMaxWeight(long parseCacheMaxWeight) {
+        if (parseCacheMaxWeight < 0) {
+            throw new IllegalArgumentException("Parse cache weight cannot be negative");
+        }
+        this.parseCacheMaxWeight = parseCacheMaxWeight;
+        return this;
+    }
+
+    public Duration getParseCacheExpiry() {
+        return parseCacheExpiry;
+    }
+
+    /**
+     * Set how long a parsed template stays cached after it was last used
+     * @param parseCacheExpiry The expiry, 5 minutes by default
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setParseCacheExpiry(Duration parseCacheExpiry) {
+        if (parseCacheExpiry == null || parseCacheExpiry.isNegative()) {
+            throw new IllegalArgumentException("Parse cache expiry cannot be null or negative");
+        }
+        this.parseCacheExpiry = parseCacheExpiry;
+        return this;
+    }
+
+    public int getInlineParseThreshold() {
+        return inlineParseThreshold;
+    }
+
+    /**
+     * Set the template length up to which uncached templates are parsed on the calling thread,
+     * since handing them to another thread costs more than parsing them
+     * @param inlineParseThreshold The length in characters, 256 by default, 0 to always parse on the parse executor
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setInlineParseThreshold(int inlineParseThreshold) {
+        if (inlineParseThreshold < 0) {
+            throw new IllegalArgumentException("Inline parse threshold cannot be negative");
+        }
+        this.inlineParseThreshold = inlineParseThreshold;
+        return this;
+    }
+
+    public int getParseThreads() {
+        return parseThreads;
+    }
+
+    /**
+     * Set the number of threads parsing large templates
+     * @param parseThreads The thread count, half the available processors up to 4 by default
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setParseThreads(int parseThreads) {
+        if (parseThreads < 1) {
+            throw new IllegalArgumentException("At least one parse thread is required");
+        }
+        this.parseThreads = parseThreads;
+        return this;
+    }
+
+    public int getParseQueueCapacity() {
+        return parseQueueCapacity;
+    }
+
+    /**
+     * Set how many templates can wait for a parse thread. When the queue is full the caller parses
+     * the template itself, which slows down whoever is flooding the parser.
+     * @param parseQueueCapacity The queue capacity, 1024 by default
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setParseQueueCapacity(int parseQueueCapacity) {
+        if (parseQueueCapacity < 1) {
+            throw new IllegalArgumentException("Parse queue capacity must be at least 1");
+        }
+        this.parseQueueCapacity = parseQueueCapacity;
+        return this;
+    }
+
+    public boolean isLegacyColorCodes() {
+        return legacyColorCodes;
+    }
+
+    /**
+     * Set whether legacy &amp;a and &amp;l style codes are translated to MiniMessage along with &amp;#RRGGBB colors.
+     * Off by default, since any letter after an ampersand would be read as a code.
+     * @param legacyColorCodes true to translate legacy codes
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setLegacyColorCodes(boolean legacyColorCodes) {
+        this.legacyColorCodes = legacyColorCodes;
+        return this;
+    }
+
+    public Duration getPapiCacheTtl() {
+        return papiCacheTtl;
+    }
+
+    /**
+     * Set how long a PlaceholderAPI result is reused for the same player, for identifiers without their own time to live
+     * @param papiCacheTtl The time to live, zero by default so results are not cached
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setPapiCacheTtl(Duration papiCacheTtl) {
+        if (papiCacheTtl == null || papiCacheTtl.isNegative()) {
+            throw new IllegalArgumentException("PlaceholderAPI cache time to live cannot be null or negative");
+        }
+        this.papiCacheTtl = papiCacheTtl;
+        return this;
+    }
+
+    /**
+     * @return The time to live of each PlaceholderAPI identifier that has its own
+     */
+    public Map<String, Duration> getPapiIdentifierTtls() {
+        return Map.copyOf(papiIdentifierTtls);
+    }
+
+    /**
+     * Set how long the results of one PlaceholderAPI expansion are reused for the same player
+     * @param identifier The expansion identifier, such as vault for %vault_eco_balance%
+     * @param ttl The time to live, zero to never cache this identifier
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setPapiCacheTtl(String identifier, Duration ttl) {
+        if (identifier == null || identifier.isEmpty()) {
+            throw new IllegalArgumentException("PlaceholderAPI identifier cannot be null or empty");
+        }
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("PlaceholderAPI cache time to live cannot be null or negative");
+        }
+        papiIdentifierTtls.put(identifier.toLowerCase(Locale.ROOT), ttl);
+        return this;
+    }
+
+    public Duration getBroadcastTickBudget() {
+        return broadcastTickBudget;
+    }
+
+    /**
+     * Set how much time each tick may spend delivering broadcasts spread across ticks
+     * @param broadcastTickBudget The budget, 2 milliseconds by default, zero for no time limit
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setBroadcastTickBudget(Duration broadcastTickBudget) {
+        if (broadcastTickBudget == null || broadcastTickBudget.isNegative()) {
+            throw new IllegalArgumentException("Broadcast tick budget cannot be null or negative");
+        }
+        this.broadcastTickBudget = broadcastTickBudget;
+        return this;
+    }
+
+    public int getBroadcastRecipientsPerTick() {
+        return broadcastRecipientsPerTick;
+    }
+
+    /**
+     * Set how many recipients of broadcasts spread across ticks are delivered to each tick
+     * @param broadcastRecipientsPerTick The cap, 0 by default for no cap
+     * @return These settings for chaining
+     */
+    public HiveChatSettings setBroadcastRecipientsPerTick(int broadcastRecipientsPerTick) {
+        if (broadcastRecipientsPerTick < 0) {
+            throw new IllegalArgumentException("Broadcast recipients per tick cannot be negative");
+        }
+        this.broadcastRecipientsPerTick = broadcastRecipientsPerTick;
+        return this;
+    }
+}
@@ -0,0 +1,98 @@
+package me.levitate.hiveChat.cache;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player PlaceholderAPI results, keyed by the full %token%.
+ * A player's results are released when they quit.
+ */
+public class PapiResultCache {
+    private final Map<UUID, Map<String, CachedResult>> results = new ConcurrentHashMap<>();
+    private final Plugin plugin;
+
+    public PapiResultCache(Plugin plugin) {
+        this.plugin = plugin;
+        registerListeners();
+    }
+
+    private void registerListeners() {
+        Bukkit.getPluginManager().registerEvents(new PapiResultListener(), plugin);
+    }
+
+    /**
+     * @param player The player
+     * @param token The %token%
+     * @return The cached result, or null if there is none or it expired
+     */
+    public String get(Player player, String token) {
+        Map<String, CachedResult> playerResults = results.get(player.getUniqueId());
+        if (playerResults == null) return null;
+
+        CachedResult cached = playerResults.get(token);
+        return cached != null && System.nanoTime() - cached.expiresAt < 0 ? cached.value : null;
+    }
+
+    /**
+     * @param player The player
+     * @param token The %token%
+     * @param value The result
+     * @param ttlNanos How long the result stays valid, in nanoseconds
+     */
+    public void put(Player player, String token, String value, long ttlNanos) {
+        // Not cached for players who already quit, the quit listener would never see the entry again
+        if (!player.isOnline()) return;
+
+        results.computeIfAbsent(player.getUniqueId(), uuid -> new ConcurrentHashMap<>())
+                .put(token, new CachedResult(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Invalidate every cached result of a player
+     * @param player The player
+     */
+    public void invalidate(Player player) {
+        if (player != null) {
+            results.remove(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Invalidate every cached result
+     */
+    public void clear() {
+        results.clear();
+    }
+
+    /**
+     * Drop the results of players who are no longer online, and every expired result
+     */
+    public void cleanup() {
+        long now = System.nanoTime();
+        results.entrySet().removeIf(entry -> {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null || !player.isOnline()) return true;
+
+            entry.getValue().values().removeIf(cached -> now - cached.expiresAt >= 0);
+            return false;
+        });
+    }
+
+    private record CachedResult(String value, long expiresAt) {}
+
+    private class PapiResultListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            results.remove(event.getPlayer().getUniqueId());
+        }
+    }
+}
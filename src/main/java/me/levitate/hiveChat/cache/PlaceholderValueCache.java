@@ -0,0 +1,143 @@
+package me.levitate.hiveChat.cache;
+
+import me.levitate.hiveChat.placeholder.Placeholder;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-player values of dynamic placeholders, each kept until its time to live runs out or it is invalidated.
+ * A player's values are released when they quit.
+ */
+public class PlaceholderValueCache {
+    private final Map<UUID, Map<String, CachedValue>> values = new ConcurrentHashMap<>();
+    // Bumped before every invalidation, so a value computed meanwhile is not stored over it
+    private final AtomicLong epoch = new AtomicLong();
+    private volatile boolean listening = false;
+
+    /**
+     * Release the values of players when they quit
+     * @param plugin The plugin to register the listener with
+     */
+    public void registerListeners(Plugin plugin) {
+        if (listening) return;
+        listening = true;
+        Bukkit.getPluginManager().registerEvents(new PlaceholderValueListener(), plugin);
+    }
+
+    /**
+     * Get the cached value of a placeholder for a player, computing it if it is missing or expired
+     * @param player The player
+     * @param key The placeholder key
+     * @param supplier Computes the value for the player
+     * @param ttlNanos How long a computed value stays valid, in nanoseconds
+     * @return The placeholder
+     */
+    public Placeholder get(Player player, String key, Function<Player, String> supplier, long ttlNanos) {
+        // Not cached for players who already quit, the quit listener would never see the entry again
+        if (!player.isOnline()) {
+            return compute(player, key, supplier);
+        }
+
+        Map<String, CachedValue> playerValues = values.computeIfAbsent(player.getUniqueId(),
+                uuid -> new ConcurrentHashMap<>());
+
+        long now = System.nanoTime();
+        CachedValue cached = playerValues.get(key);
+        if (cached != null && now - cached.expiresAt < 0) {
+            return cached.placeholder;
+        }
+
+        // Computed outside any lock, concurrent sends may both compute an expired value
+        long stamp = epoch.get();
+        Placeholder placeholder = compute(player, key, supplier);
+        CachedValue computed = new CachedValue(placeholder, now + ttlNanos);
+        // Dropped if the value was invalidated while it was being computed
+        playerValues.compute(key, (k, current) -> epoch.get() == stamp ? computed : current);
+        return placeholder;
+    }
+
+    private static Placeholder compute(Player player, String key, Function<Player, String> supplier) {
+        String value;
+        try {
+            value = supplier.apply(player);
+        } catch (Exception e) {
+            value = "";
+        }
+        return Placeholder.of(key, value != null ? value : "");
+    }
+
+    /**
+     * Invalidate the cached value of a placeholder for a player
+     * @param player The player
+     * @param key The placeholder key
+     */
+    public void invalidate(Player player, String key) {
+        if (player == null) return;
+
+        epoch.incrementAndGet();
+        Map<String, CachedValue> playerValues = values.get(player.getUniqueId());
+        if (playerValues != null) {
+            playerValues.remove(key);
+        }
+    }
+
+    /**
+     * Invalidate every cached value of a player
+     * @param player The player
+     */
+    public void invalidate(Player player) {
+        if (player != null) {
+            epoch.incrementAndGet();
+            values.remove(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Invalidate the cached value of a placeholder for every player
+     * @param key The placeholder key
+     */
+    public void invalidateKey(String key) {
+        epoch.incrementAndGet();
+        for (Map<String, CachedValue> playerValues : values.values()) {
+            playerValues.remove(key);
+        }
+    }
+
+    /**
+     * Invalidate every cached value
+     */
+    public void clear() {
+        epoch.incrementAndGet();
+        values.clear();
+    }
+
+    /**
+     * Drop the values of players who are no longer online
+     */
+    public void cleanup() {
+        values.keySet().removeIf(uuid -> {
+            Player player = Bukkit.getPlayer(uuid);
+            return player == null || !player.isOnline();
+        });
+    }
+
+    private record CachedValue(Placeholder placeholder, long expiresAt) {}
+
+    private class PlaceholderValueListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            values.remove(event.getPlayer().getUniqueId());
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package me.levitate.hiveChat.cache;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Player positions bucketed by chunk, kept up to date from movement events on the thread that owns each player.
+ * Radius queries only visit the chunks the radius covers and compare squared distances against the recorded
+ * positions, so they can run from any thread without reading live entity state.
+ */
+public class PlayerLocationIndex {
+    // Folia's default region section size is 2^4 chunks per side
+    private static final int SECTION_SHIFT = 4;
+
+    private final Map<UUID, Position> positions = new ConcurrentHashMap<>();
+    // World UID -> chunk key -> players in that chunk
+    private final Map<UUID, Map<Long, Set<UUID>>> cells = new ConcurrentHashMap<>();
+
+    public PlayerLocationIndex(Plugin plugin) {
+        Bukkit.getPluginManager().registerEvents(new LocationListener(), plugin);
+
+        // Players already online when HiveChat was initialized
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player, player.getLocation());
+        }
+    }
+
+    /**
+     * Get the players within a radius of a location, by their last recorded position
+     * @param center The center
+     * @param radius The radius in blocks
+     * @return The players within the radius
+     */
+    public List<Player> getNearbyPlayers(Location center, double radius) {
+        if (center == null || center.getWorld() == null || radius < 0) return List.of();
+
+        UUID world = center.getWorld().getUID();
+        Map<Long, Set<UUID>> worldCells = cells.get(world);
+        if (worldCells == null) return List.of();
+
+        double x = center.getX();
+        double y = center.getY();
+        double z = center.getZ();
+        double radiusSquared = radius * radius;
+
+        int minChunkX = (int) Math.floor(x - radius) >> 4;
+        int maxChunkX = (int) Math.floor(x + radius) >> 4;
+        int minChunkZ = (int) Math.floor(z - radius) >> 4;
+        int maxChunkZ = (int) Math.floor(z + radius) >> 4;
+
+        List<Player> nearby = new ArrayList<>();
+        long coveredCells = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (coveredCells > worldCells.size()) {
+            // A huge radius covers more chunks than there are occupied ones, visit the occupied ones instead
+            for (Set<UUID> cell : worldCells.values()) {
+                collect(cell, world, x, y, z, radiusSquared, nearby);
+            }
+            return nearby;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Set<UUID> cell = worldCells.get(cellKey(chunkX, chunkZ));
+                if (cell != null) {
+                    collect(cell, world, x, y, z, radiusSquared, nearby);
+                }
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Group players by the region section they were last seen in. A Folia region always owns whole sections,
+     * so one task scheduled at a section reaches every player of the group that has not moved on since.
+     * @param players The players
+     * @return The players of each section, players without a recorded position under a null section
+     */
+    public Map<RegionSection, List<Player>> groupByRegionSection(Collection<? extends Player> players) {
+        Map<RegionSection, List<Player>> groups = new HashMap<>();
+        for (Player player : players) {
+            Position position = positions.get(player.getUniqueId());
+            RegionSection section = position != null
+                    ? RegionSection.at(position.world, position.x, position.z) : null;
+            groups.computeIfAbsent(section, key -> new ArrayList<>()).add(player);
+        }
+        return groups;
+    }
+
+    /**
+     * @return The number of players in the index
+     */
+    public int size() {
+        return positions.size();
+    }
+
+    private void collect(Set<UUID> cell, UUID world, double x, double y, double z,
+                         double radiusSquared, List<Player> nearby) {
+        for (UUID uuid : cell) {
+            Position position = positions.get(uuid);
+            // The player may have moved to another chunk since the cell was read
+            if (position != null && position.world.equals(world)
+                    && position.distanceSquared(x, y, z) <= radiusSquared) {
+                nearby.add(position.player);
+            }
+        }
+    }
+
+    private void update(Player player, Location location) {
+        if (location == null || location.getWorld() == null) return;
+
+        UUID uuid = player.getUniqueId();
+        Position next = new Position(player, location.getWorld().getUID(),
+                location.getX(), location.getY(), location.getZ());
+        Position previous = positions.put(uuid, next);
+
+        long cell = next.cellKey();
+        if (previous != null && previous.world.equals(next.world) && previous.cellKey() == cell) return;
+
+        if (previous != null) {
+            removeFromCell(uuid, previous);
+        }
+        cells.computeIfAbsent(next.world, world -> new ConcurrentHashMap<>())
+                .compute(cell, (key, players) -> {
+                    Set<UUID> updated = players != null ? players : ConcurrentHashMap.newKeySet();
+                    updated.add(uuid);
+                    return updated;
+                });
+    }
+
+    private void remove(Player player) {
+        UUID uuid = player.getUniqueId();
+        Position previous = positions.remove(uuid);
+        if (previous != null) {
+            removeFromCell(uuid, previous);
+        }
+    }
+
+    private void removeFromCell(UUID uuid, Position position) {
+        Map<Long, Set<UUID>> worldCells = cells.get(position.world);
+        if (worldCells == null) return;
+
+        // Empty cells are dropped, so the occupied cell count stays meaningful
+        worldCells.computeIfPresent(position.cellKey(), (key, players) -> {
+            players.remove(uuid);
+            return players.isEmpty() ? null : players;
+        });
+    }
+
+    private static long cellKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private record Position(Player player, UUID world, double x, double y, double z) {
+        long cellKey() {
+            return PlayerLocationIndex.cellKey((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+        }
+
+        double distanceSquared(double otherX, double otherY, double otherZ) {
+            double dx = x - otherX;
+            double dy = y - otherY;
+            double dz = z - otherZ;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    /**
+     * A square of chunks that always belongs to a single Folia region
+     *
+     * @param world The world UID
+     * @param x     The section x coordinate
+     * @param z     The section z coordinate
+     */
+    public record RegionSection(UUID world, int x, int z) {
+
+        /**
+         * @param world The world UID
+         * @param x     The block x coordinate
+         * @param z     The block z coordinate
+         * @return The section containing the position
+         */
+        public static RegionSection at(UUID world, double x, double z) {
+            return new RegionSection(world, ((int) Math.floor(x) >> 4) >> SECTION_SHIFT,
+                    ((int) Math.floor(z) >> 4) >> SECTION_SHIFT);
+        }
+
+        /**
+         * @return The x coordinate of a chunk in this section
+         */
+        public int chunkX() {
+            return x << SECTION_SHIFT;
+        }
+
+        /**
+         * @return The z coordinate of a chunk in this section
+         */
+        public int chunkZ() {
+            return z << SECTION_SHIFT;
+        }
+    }
+
+    private class LocationListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onJoin(PlayerJoinEvent event) {
+            update(event.getPlayer(), event.getPlayer().getLocation());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onMove(PlayerMoveEvent event) {
+            Location from = event.getFrom();
+            Location to = event.getTo();
+            // Looking around does not move the player, and block precision is enough for a radius
+            if (to == null || (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                    && from.getBlockZ() == to.getBlockZ())) return;
+
+            update(event.getPlayer(), to);
+        }
+
+        // PlayerMoveEvent does not fire for players riding a boat, minecart or animal
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onVehicleMove(VehicleMoveEvent event) {
+            Location from = event.getFrom();
+            Location to = event.getTo();
+            if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                    && from.getBlockZ() == to.getBlockZ()) return;
+
+            updatePassengers(event.getVehicle());
+        }
+
+        private void updatePassengers(Entity vehicle) {
+            for (Entity passenger : vehicle.getPassengers()) {
+                if (passenger instanceof Player player) {
+                    update(player, player.getLocation());
+                }
+                updatePassengers(passenger);
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onTeleport(PlayerTeleportEvent event) {
+            update(event.getPlayer(), event.getTo());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onChangedWorld(PlayerChangedWorldEvent event) {
+            update(event.getPlayer(), event.getPlayer().getLocation());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onRespawn(PlayerRespawnEvent event) {
+            update(event.getPlayer(), event.getRespawnLocation());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(PlayerQuitEvent event) {
+            remove(event.getPlayer());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package me.levitate.hiveChat.chain;
 
+import me.levitate.hiveChat.HiveChat;
 import me.levitate.hiveChat.message.ActionBar;
 import me.levitate.hiveChat.message.BossBarComponent;
 import me.levitate.hiveChat.message.MessageComponent;
+import me.levitate.hiveChat.message.ParsedMessage;
 import me.levitate.hiveChat.message.TitleComponent;
 import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderSet;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
@@ -19,9 +22,7 @@ public class MessageChain {
     private final List<MessageComponent> components = new ArrayList<>();
 
     public MessageChain message(String content) {
-        MessageComponent component = new MessageComponent()
-                .setContent(content);
-        components.add(component);
+        components.add(MessageComponent.content(content));
         return this;
     }
 
@@ -30,83 +31,78 @@ public class MessageChain {
     }
 
     public MessageChain withSound(Sound sound, float volume, float pitch) {
-        MessageComponent component = new MessageComponent()
-                .setSound(sound)
-                .setVolume(volume)
-                .setPitch(pitch);
-        components.add(component);
+        components.add(MessageComponent.sound(sound, volume, pitch));
         return this;
     }
 
     public MessageChain withActionBar(String content) {
-        return withActionBar(content, 60);
+        return withActionBar(content, ActionBar.DEFAULT_DURATION);
     }
 
     public MessageChain withActionBar(String content, int durationTicks) {
-        ActionBar actionBar = new ActionBar()
-                .setContent(content)
-                .setDuration(durationTicks);
-        MessageComponent component = new MessageComponent()
-                .setActionBar(actionBar);
-        components.add(component);
+        components.add(MessageComponent.actionBar(ActionBar.of(content, durationTicks)));
         return this;
     }
 
     public MessageChain withBossBar(String content, BarColor color, BarStyle style) {
-        return withBossBar(content, color, style, 1.0, 600);
+        return withBossBar(content, color, style, 1.0, BossBarComponent.DEFAULT_DURATION);
     }
 
     public MessageChain withBossBar(String content, BarColor color, BarStyle style,
                                     double progress, int durationTicks) {
-        BossBarComponent bossBar = new BossBarComponent()
-                .setContent(content)
-                .setColor(color)
-                .setStyle(style)
-                .setProgress(progress)
-                .setDuration(durationTicks);
-        MessageComponent component = new MessageComponent()
-                .setBossBar(bossBar);
-        components.add(component);
+        BossBarComponent bossBar = BossBarComponent.of(content, color, style, progress, durationTicks);
+        components.add(MessageComponent.bossBar(bossBar));
         return this;
     }
 
     public MessageChain withTitle(String title) {
-        return withTitle(title, "", 10, 70, 20);
+        return withTitle(title, "");
     }
 
     public MessageChain withTitle(String title, String subtitle) {
-        return withTitle(title, subtitle, 10, 70, 20);
+        return withTitle(title, subtitle, TitleComponent.DEFAULT_FADE_IN,
+                TitleComponent.DEFAULT_STAY, TitleComponent.DEFAULT_FADE_OUT);
     }
 
     public MessageChain withTitle(String title, String subtitle,
                                   int fadeIn, int stay, int fadeOut) {
-        TitleComponent titleComponent = new TitleComponent()
-                .setTitle(title)
-                .setSubtitle(subtitle)
-                .setTimes(fadeIn, stay, fadeOut);
-        MessageComponent component = new MessageComponent()
-                .setTitle(titleComponent);
-        components.add(component);
+        components.add(MessageComponent.title(TitleComponent.of(title, subtitle, fadeIn, stay, fadeOut)));
         return this;
     }
 
     public void send(Player player, Placeholder... placeholders) {
+        send(player, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public void send(Player player, PlaceholderSet set, Placeholder... placeholders) {
         if (player == null || !player.isOnline()) return;
 
-        for (MessageComponent component : components) {
-            component.send(player, placeholders);
-        }
+        toMessage().send(player, set, placeholders);
     }
 
     public void broadcast(Placeholder... placeholders) {
-        Bukkit.getOnlinePlayers().forEach(player -> send(player, placeholders));
+        broadcast(PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public void broadcast(PlaceholderSet set, Placeholder... placeholders) {
+        toMessage().broadcast(List.copyOf(Bukkit.getOnlinePlayers()), set, placeholders);
     }
 
     public void broadcast(int radius, Location center, Placeholder... placeholders) {
+        broadcast(radius, center, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    public void broadcast(int radius, Location center, PlaceholderSet set, Placeholder... placeholders) {
         if (center == null || center.getWorld() == null) return;
 
-        center.getWorld().getPlayers().stream()
-                .filter(p -> p.getLocation().distance(center) <= radius)
-                .forEach(player -> send(player, placeholders));
+        toMessage().broadcast(HiveChat.getNearbyPlayers(center, radius), set, placeholders);
+    }
+
+    /**
+     * Build a message from the steps added so far, so sends share the rendering and grouping of parsed messages
+     * @return The message
+     */
+    public ParsedMessage toMessage() {
+        return components.isEmpty() ? ParsedMessage.EMPTY : new ParsedMessage(components);
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,16 @@
 package me.levitate.hiveChat.config;
 
 import me.levitate.hiveChat.message.MessageRegistry;
+import me.levitate.hiveChat.parser.CompileReport;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 /**
@@ -30,6 +33,43 @@ public class ConfigLibLoader {
             return 0;
         }
 
+        Map<String, String> messages = new LinkedHashMap<>();
+        int count = collectMessages(configInstance, messages, baseKey, logger);
+        registry.importMessages(messages);
+        return count;
+    }
+
+    /**
+     * Load messages from a ConfigLib configuration class, compiling them all in parallel
+     * 
+     * @param configInstance Instance of the ConfigLib configuration
+     * @param registry       MessageRegistry to load into
+     * @param baseKey        Base key to prefix all message keys
+     * @param logger         Logger for errors
+     * @return A future completed with the compile report once every message is ready to send
+     */
+    public static CompletableFuture<CompileReport> loadFromConfigAsync(Object configInstance, MessageRegistry registry,
+            String baseKey, Logger logger) {
+        if (configInstance == null || registry == null) {
+            return CompletableFuture.completedFuture(new CompileReport(0, Map.of(), 0L));
+        }
+
+        Map<String, String> messages = new LinkedHashMap<>();
+        collectMessages(configInstance, messages, baseKey, logger);
+        return registry.importMessagesAsync(messages);
+    }
+
+    /**
+     * Collect the messages of a configuration into a map
+     * 
+     * @param configInstance Instance of the ConfigLib configuration
+     * @param messages       Map to collect the messages into
+     * @param baseKey        Base key to prefix all message keys
+     * @param logger         Logger for errors
+     * @return Number of messages collected
+     */
+    private static int collectMessages(Object configInstance, Map<String, String> messages, String baseKey,
+            Logger logger) {
         int count = 0;
         Class<?> configClass = configInstance.getClass();
         baseKey = baseKey == null ? "" : baseKey.endsWith(".") ? baseKey : baseKey + ".";
@@ -42,7 +82,7 @@ public class ConfigLibLoader {
                     String fieldName = methodName.substring(3, 4).toLowerCase() + methodName.substring(4);
                     Object value = method.invoke(configInstance);
 
-                    count += processValue(fieldName, value, registry, baseKey, logger);
+                    count += processValue(fieldName, value, messages, baseKey, logger);
                 } catch (Exception e) {
                     if (logger != null) {
                         logger.warning("Error loading message from " + methodName + ": " + e.getMessage());
@@ -62,7 +102,7 @@ public class ConfigLibLoader {
                     continue;
                 }
 
-                count += processValue(fieldName, value, registry, baseKey, logger);
+                count += processValue(fieldName, value, messages, baseKey, logger);
             } catch (Exception e) {
                 if (logger != null) {
                     logger.warning("Error loading message from field " + field.getName() + ": " + e.getMessage());
@@ -95,13 +135,13 @@ public class ConfigLibLoader {
      * 
      * @param name     Field or method name
      * @param value    Value to process
-     * @param registry MessageRegistry to load into
+     * @param messages Map to collect the messages into
      * @param baseKey  Base key prefix
      * @param logger   Logger for errors
      * @return Number of messages added
      */
     @SuppressWarnings("unchecked")
-    private static int processValue(String name, Object value, MessageRegistry registry, String baseKey,
+    private static int processValue(String name, Object value, Map<String, String> messages, String baseKey,
             Logger logger) {
         if (value == null) {
             return 0;
@@ -111,14 +151,14 @@ public class ConfigLibLoader {
 
         // Handle different value types
         if (value instanceof String string) {
-            registry.register(baseKey + name, string);
+            messages.put(baseKey + name, string);
             count++;
         } else if (value instanceof Map<?, ?> map) {
             try {
                 Map<String, String> stringMap = (Map<String, String>) map;
                 for (Map.Entry<String, String> entry : stringMap.entrySet()) {
                     if (entry.getValue() != null) {
-                        registry.register(baseKey + name + "." + entry.getKey(), entry.getValue());
+                        messages.put(baseKey + name + "." + entry.getKey(), entry.getValue());
                         count++;
                     }
                 }
@@ -131,14 +171,14 @@ public class ConfigLibLoader {
             int index = 0;
             for (Object item : collection) {
                 if (item instanceof String string) {
-                    registry.register(baseKey + name + "." + index, string);
+                    messages.put(baseKey + name + "." + index, string);
                     count++;
                 }
                 index++;
             }
         } else if (isConfigObject(value)) {
             // Recursively process nested ConfigLib objects
-            count += loadFromConfig(value, registry, baseKey + name, logger);
+            count += collectMessages(value, messages, baseKey + name, logger);
         }
 
         return count;
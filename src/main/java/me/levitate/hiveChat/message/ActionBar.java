@@ -2,66 +2,97 @@ package me.levitate.hiveChat.message;
 
 import me.levitate.hiveChat.HiveChat;
 import me.levitate.hiveChat.placeholder.Placeholder;
-import me.levitate.hiveChat.util.ColorUtil;
 import me.levitate.hiveChat.util.ServerUtil;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class ActionBar {
-    private static final Map<Player, Boolean> activeTasks = new ConcurrentHashMap<>();
-    private String content;
-    private int duration = 60; // 3 seconds
+public final class ActionBar {
+    public static final int DEFAULT_DURATION = 60; // 3 seconds
+
+    // The latest action bar shown to each player, so an older removal never clears a newer bar
+    private static final Map<UUID, Long> generations = new ConcurrentHashMap<>();
+    private static final AtomicLong nextGeneration = new AtomicLong();
+    private final MessageText content;
+    private final int duration;
+
+    private ActionBar(MessageText content, int duration) {
+        this.content = content;
+        this.duration = duration;
+    }
+
+    /**
+     * Create an action bar
+     * @param content The action bar text
+     * @param duration How long the action bar stays, in ticks
+     * @return The action bar
+     */
+    public static ActionBar of(String content, int duration) {
+        return new ActionBar(MessageText.of(content), duration);
+    }
 
     public void show(Player player, Placeholder... placeholders) {
+        show(player, RenderContext.of(player, placeholders));
+    }
+
+    public void show(Player player, RenderContext context) {
         if (player == null || !player.isOnline()) return;
 
-        // Cancel any existing task
-        removeActionBar(player);
+        show(List.of(player), player, context);
+    }
 
+    /**
+     * Show this action bar to a group of players through one audience, with a single removal task for the group
+     * @param players The players
+     * @param audience A forwarding audience over the players
+     * @param context The context shared by the players
+     */
+    void show(List<Player> players, Audience audience, RenderContext context) {
         // Process content with placeholders
-        String processed = HiveChat.getParser().applyPlaceholders(content, player, placeholders);
-
-        // Parse the colors and formats properly
-        Component component = ColorUtil.parseMessageFormats(processed);
+        Component component = HiveChat.getParser().render(content, context);
 
         // Show the action bar
-        player.sendActionBar(component);
-
-        // Schedule removal if duration > 0
-        if (duration > 0) {
-            // Mark this player as having an active action bar
-            activeTasks.put(player, Boolean.TRUE);
-            
-            // Replace Bukkit scheduler with ServerUtil
-            ServerUtil.runAtEntity(player, p -> {
-                ServerUtil.runTaskLater(() -> {
-                    if (p.isOnline()) {
-                        p.sendActionBar(Component.empty());
-                    }
-                    activeTasks.remove(p);
-                }, duration);
-            });
+        audience.sendActionBar(component);
+
+        if (duration <= 0) {
+            // Nothing to remove, and no earlier removal should clear this bar either
+            players.forEach(player -> generations.remove(player.getUniqueId()));
+            return;
         }
+
+        long generation = nextGeneration.incrementAndGet();
+        players.forEach(player -> generations.put(player.getUniqueId(), generation));
+
+        ServerUtil.runTaskLater(() -> {
+            List<Player> expired = new ArrayList<>(players.size());
+            for (Player player : players) {
+                // Players shown a newer action bar meanwhile keep it
+                if (generations.remove(player.getUniqueId(), generation) && player.isOnline()) {
+                    expired.add(player);
+                }
+            }
+            if (!expired.isEmpty()) {
+                Audience.audience(expired).sendActionBar(Component.empty());
+            }
+        }, duration);
     }
 
-    private void removeActionBar(Player player) {
-        if (player == null) return;
-        
-        if (activeTasks.remove(player) != null && player.isOnline()) {
-            player.sendActionBar(Component.empty());
-        }
+    MessageText getText() {
+        return content;
     }
 
-    public ActionBar setContent(String content) {
-        this.content = content;
-        return this;
+    public String getContent() {
+        return content.getSource();
     }
 
-    public ActionBar setDuration(int duration) {
-        this.duration = duration;
-        return this;
+    public int getDuration() {
+        return duration;
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,6 @@ package me.levitate.hiveChat.message;
 
 import me.levitate.hiveChat.HiveChat;
 import me.levitate.hiveChat.placeholder.Placeholder;
-import me.levitate.hiveChat.util.ColorUtil;
 import me.levitate.hiveChat.util.ServerUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
@@ -13,18 +12,44 @@ import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Player;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class BossBarComponent {
+public final class BossBarComponent {
+    public static final int DEFAULT_DURATION = 600; // 30 seconds
+
+    // The bar each player currently sees, one bar is shared by every player it was shown to at once
     private static final Map<UUID, BossBar> activeBars = new ConcurrentHashMap<>();
-    private static final Map<UUID, Object> activeTaskFlags = new ConcurrentHashMap<>();
-    private String content;
-    private BarColor color = BarColor.WHITE;
-    private BarStyle style = BarStyle.SOLID;
-    private double progress = 1.0;
-    private int duration = 600; // Default 30 seconds (600 ticks)
+    private final MessageText content;
+    private final String staticTitle;
+    private final BarColor color;
+    private final BarStyle style;
+    private final double progress;
+    private final int duration;
+
+    private BossBarComponent(MessageText content, BarColor color, BarStyle style, double progress, int duration) {
+        this.content = content;
+        this.staticTitle = content.isStatic() ? toLegacy(content.getStaticComponent()) : null;
+        this.color = color != null ? color : BarColor.WHITE;
+        this.style = style != null ? style : BarStyle.SOLID;
+        this.progress = progress;
+        this.duration = duration;
+    }
+
+    /**
+     * Create a boss bar
+     * @param content The boss bar text
+     * @param color The bar color
+     * @param style The bar style
+     * @param progress The bar progress, from 0 to 1
+     * @param duration How long the bar stays, in ticks
+     * @return The boss bar
+     */
+    public static BossBarComponent of(String content, BarColor color, BarStyle style, double progress, int duration) {
+        return new BossBarComponent(MessageText.of(content), color, style, progress, duration);
+    }
 
     /**
      * Static method to clean all boss bars for players who are no longer online
@@ -35,86 +60,95 @@ public class BossBarComponent {
             Player player = Bukkit.getPlayer(uuid);
             if (player == null || !player.isOnline()) {
                 BossBar bar = activeBars.remove(uuid);
-                if (bar != null) {
+                // Other players may still share the bar
+                if (bar != null && !activeBars.containsValue(bar)) {
                     bar.removeAll();
                 }
-                activeTaskFlags.remove(uuid);
             }
         });
     }
 
     public void show(Player player, Placeholder... placeholders) {
-        if (player == null || !player.isOnline()) return;
-
-        // Remove existing boss bar if any
-        removeBossBar(player);
+        show(player, RenderContext.of(player, placeholders));
+    }
 
-        // Process content with placeholders
-        String processed = HiveChat.getParser().applyPlaceholders(content, player, placeholders);
+    public void show(Player player, RenderContext context) {
+        if (player == null || !player.isOnline()) return;
 
-        // Parse the colors and formats properly
-        Component component = ColorUtil.parseMessageFormats(processed);
+        show(List.of(player), context);
+    }
 
-        // Convert the component to a string suitable for Bukkit boss bar
-        // We use the legacy serializer to ensure compatibility with the Bukkit boss bar API
-        String coloredTitle = LegacyComponentSerializer.legacySection().serialize(component);
+    /**
+     * Show this boss bar to a group of players as one shared bar, with a single removal task for the group
+     * @param players The players
+     * @param context The context shared by the players
+     */
+    void show(List<Player> players, RenderContext context) {
+        // Static content is serialized once, otherwise process content with placeholders
+        String coloredTitle = staticTitle;
+        if (coloredTitle == null) {
+            coloredTitle = toLegacy(HiveChat.getParser().render(content, context));
+        }
 
         // Create new boss bar
         BossBar bossBar = Bukkit.createBossBar(coloredTitle, color, style);
         bossBar.setProgress(progress);
-        bossBar.addPlayer(player);
 
-        UUID playerUUID = player.getUniqueId();
-        activeBars.put(playerUUID, bossBar);
+        for (Player player : players) {
+            // Remove existing boss bar if any
+            removeBossBar(player);
+            bossBar.addPlayer(player);
+            activeBars.put(player.getUniqueId(), bossBar);
+        }
 
         // Schedule removal if duration > 0
         if (duration > 0) {
-            activeTaskFlags.put(playerUUID, Boolean.TRUE);
-            
-            // We're just tracking if there's a task scheduled, not the actual task reference
             ServerUtil.runTaskLater(() -> {
-                if (activeTaskFlags.remove(playerUUID) != null) {
-                    removeBossBar(player);
+                // Players shown a newer bar meanwhile have already left this one
+                for (Player player : players) {
+                    activeBars.remove(player.getUniqueId(), bossBar);
                 }
+                bossBar.removeAll();
             }, duration);
         }
     }
 
     private void removeBossBar(Player player) {
-        if (player == null) return;
-
-        UUID playerUUID = player.getUniqueId();
-        BossBar existing = activeBars.remove(playerUUID);
+        BossBar existing = activeBars.remove(player.getUniqueId());
         if (existing != null) {
-            existing.removeAll();
+            existing.removePlayer(player);
         }
-        
-        // No need to cancel tasks, just remove our tracking flag
-        activeTaskFlags.remove(playerUUID);
     }
 
-    public BossBarComponent setContent(String content) {
-        this.content = content;
-        return this;
+    /**
+     * Convert a component to a string suitable for the Bukkit boss bar
+     * We use the legacy serializer to ensure compatibility with the Bukkit boss bar API
+     */
+    private static String toLegacy(Component component) {
+        return LegacyComponentSerializer.legacySection().serialize(component);
     }
 
-    public BossBarComponent setColor(BarColor color) {
-        this.color = color;
-        return this;
+    MessageText getText() {
+        return content;
     }
 
-    public BossBarComponent setStyle(BarStyle style) {
-        this.style = style;
-        return this;
+    public String getContent() {
+        return content.getSource();
     }
 
-    public BossBarComponent setProgress(double progress) {
-        this.progress = progress;
-        return this;
+    public BarColor getColor() {
+        return color;
     }
 
-    public BossBarComponent setDuration(int duration) {
-        this.duration = duration;
-        return this;
+    public BarStyle getStyle() {
+        return style;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public int getDuration() {
+        return duration;
     }
-}
\ No newline at end of file
+}
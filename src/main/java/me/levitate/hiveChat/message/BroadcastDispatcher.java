@@ -0,0 +1,175 @@
+package me.levitate.hiveChat.message;
+
+import me.levitate.hiveChat.HiveChatSettings;
+import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderSet;
+import me.levitate.hiveChat.util.ServerUtil;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Spreads broadcasts across ticks. Every tick, recipients are taken from the oldest broadcast in slices until
+ * the tick budget or the recipients-per-tick cap is used up. Broadcasts are delivered one after the other,
+ * so every recipient receives them in the order they were submitted.
+ * A slice that fails to deliver is skipped and logged, so one bad recipient cannot hold up the queue.
+ * On Folia delivery runs on the region threads, so the budget only covers scheduling those tasks.
+ */
+public class BroadcastDispatcher {
+    private static final String TASK_NAME = "hivechat-broadcast-dispatcher";
+    // Recipients delivered between two checks of the tick budget
+    private static final int SLICE_SIZE = 16;
+
+    private final Logger logger;
+    private final Queue<Delivery> queue = new ConcurrentLinkedQueue<>();
+    private final long tickBudgetNanos;
+    private final int recipientsPerTick;
+    private final LongAdder pendingRecipients = new LongAdder();
+    private final LongAdder deliveredRecipients = new LongAdder();
+    private final LongAdder completedBroadcasts = new LongAdder();
+    private final AtomicLong maxTickNanos = new AtomicLong();
+    private volatile long lastTickNanos;
+    private long tickCount;
+
+    public BroadcastDispatcher(Logger logger, HiveChatSettings settings) {
+        this.logger = logger;
+        this.tickBudgetNanos = settings.getBroadcastTickBudget().toNanos();
+        this.recipientsPerTick = settings.getBroadcastRecipientsPerTick();
+        ServerUtil.runNamedTaskTimer(TASK_NAME, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Queue a broadcast to be spread across ticks
+     * @param message The message
+     * @param recipients The players to deliver to, in delivery order
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
+     * @return A future completed once every recipient was handled
+     */
+    public CompletableFuture<BroadcastReport> submit(ParsedMessage message, Collection<? extends Player> recipients,
+                                                     PlaceholderSet set, Placeholder... placeholders) {
+        // Free for a snapshot the caller already took with List.copyOf
+        List<Player> players = List.copyOf(recipients);
+        if (message.getComponents().isEmpty() || players.isEmpty()) {
+            return CompletableFuture.completedFuture(new BroadcastReport(0, 0, 0L));
+        }
+
+        // Rendered once up front when every recipient sees the same thing
+        RenderContext shared = message.isViewerDependent(set, placeholders) ? null : message.prerender(set, placeholders);
+
+        Delivery delivery = new Delivery(message, players, shared, set, placeholders);
+        pendingRecipients.add(players.size());
+        queue.add(delivery);
+        return delivery.future;
+    }
+
+    private void tick() {
+        if (queue.isEmpty()) return;
+
+        long start = System.nanoTime();
+        long tick = ++tickCount;
+        int remaining = recipientsPerTick > 0 ? recipientsPerTick : Integer.MAX_VALUE;
+
+        Delivery delivery;
+        while (remaining > 0 && (delivery = queue.peek()) != null) {
+            if (delivery.lastTick != tick) {
+                delivery.lastTick = tick;
+                delivery.ticks++;
+            }
+
+            int delivered;
+            try {
+                delivered = delivery.deliverNext(Math.min(SLICE_SIZE, remaining));
+            } catch (RuntimeException e) {
+                // The cursor already moved past the slice, keep draining the rest
+                delivered = delivery.lastSlice;
+                logger.warning("Error delivering broadcast slice: " + e.getMessage());
+            }
+            remaining -= delivered;
+            pendingRecipients.add(-delivered);
+            deliveredRecipients.add(delivered);
+
+            if (delivery.isDone()) {
+                queue.poll();
+                completedBroadcasts.increment();
+                delivery.complete();
+            }
+
+            if (tickBudgetNanos > 0 && System.nanoTime() - start >= tickBudgetNanos) break;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastTickNanos = elapsed;
+        maxTickNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * @return A snapshot of the delivery counters, to measure how far broadcasts spread
+     */
+    public BroadcastStats getStats() {
+        return new BroadcastStats(queue.size(), pendingRecipients.sum(), completedBroadcasts.sum(),
+                deliveredRecipients.sum(), lastTickNanos, maxTickNanos.get());
+    }
+
+    /**
+     * Stop delivering and cancel every pending broadcast
+     */
+    public void shutdown() {
+        ServerUtil.cancelNamedTask(TASK_NAME);
+
+        Delivery delivery;
+        while ((delivery = queue.poll()) != null) {
+            delivery.future.cancel(false);
+        }
+        pendingRecipients.reset();
+    }
+
+    private static final class Delivery {
+        private final ParsedMessage message;
+        private final List<Player> recipients;
+        private final RenderContext shared;
+        private final PlaceholderSet set;
+        private final Placeholder[] placeholders;
+        private final long submittedAt = System.nanoTime();
+        private final CompletableFuture<BroadcastReport> future = new CompletableFuture<>();
+        private int next;
+        private int ticks;
+        private long lastTick;
+        private int lastSlice;
+
+        private Delivery(ParsedMessage message, List<Player> recipients, RenderContext shared,
+                         PlaceholderSet set, Placeholder[] placeholders) {
+            this.message = message;
+            this.recipients = recipients;
+            this.shared = shared;
+            this.set = set;
+            this.placeholders = placeholders;
+        }
+
+        private int deliverNext(int count) {
+            int end = Math.min(recipients.size(), next + count);
+            List<Player> slice = recipients.subList(next, end);
+            lastSlice = end - next;
+            next = end;
+
+            // One group on the main thread, one task per region section on Folia
+            message.dispatch(slice, shared, set, placeholders);
+            return lastSlice;
+        }
+
+        private boolean isDone() {
+            return next >= recipients.size();
+        }
+
+        private void complete() {
+            future.complete(new BroadcastReport(recipients.size(), ticks, System.nanoTime() - submittedAt));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package me.levitate.hiveChat.message;
+
+/**
+ * The outcome of a broadcast spread across ticks
+ *
+ * @param recipients   Players the broadcast was delivered to, including any that left before their turn
+ * @param ticks        Ticks the delivery was spread across
+ * @param elapsedNanos Time from submitting the broadcast until the last recipient was handled
+ */
+public record BroadcastReport(int recipients, int ticks, long elapsedNanos) {
+
+    /**
+     * @return The elapsed time in milliseconds
+     */
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000L;
+    }
+}
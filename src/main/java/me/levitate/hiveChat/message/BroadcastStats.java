@@ -0,0 +1,15 @@
+package me.levitate.hiveChat.message;
+
+/**
+ * A snapshot of the counters of broadcasts spread across ticks
+ *
+ * @param pendingBroadcasts   Broadcasts waiting for or in the middle of delivery
+ * @param pendingRecipients   Recipients still waiting for their turn
+ * @param completedBroadcasts Broadcasts fully delivered
+ * @param deliveredRecipients Recipients handled since startup
+ * @param lastTickNanos       Time spent delivering in the most recent tick that had work
+ * @param maxTickNanos        Longest time spent delivering in a single tick
+ */
+public record BroadcastStats(int pendingBroadcasts, long pendingRecipients, long completedBroadcasts,
+                             long deliveredRecipients, long lastTickNanos, long maxTickNanos) {
+}
@@ -1,29 +1,95 @@
 package me.levitate.hiveChat.message;
 
-import me.clip.placeholderapi.PlaceholderAPI;
 import me.levitate.hiveChat.HiveChat;
 import me.levitate.hiveChat.placeholder.Placeholder;
-import me.levitate.hiveChat.util.ColorUtil;
+import me.levitate.hiveChat.parser.MessageParser;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
 import org.bukkit.Sound;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
-public class MessageComponent {
-    private String content;
-    private Sound sound;
-    private float volume = 1.0f;
-    private float pitch = 1.0f;
-    private ActionBar actionBar;
-    private BossBarComponent bossBar;
-    private TitleComponent title;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A single part of a parsed message. Components are immutable once created,
+ * so parsed messages can be shared between threads and regions.
+ */
+public final class MessageComponent {
+    private final MessageText content;
+    // Chat lines joined into one newline-separated message, null unless the component spans several lines
+    private final List<MessageText> lines;
+    private final Sound sound;
+    private final float volume;
+    private final float pitch;
+    private final net.kyori.adventure.sound.Sound adventureSound;
+    private final ActionBar actionBar;
+    private final BossBarComponent bossBar;
+    private final TitleComponent title;
+
+    private MessageComponent(MessageText content, List<MessageText> lines, Sound sound, float volume, float pitch,
+                             ActionBar actionBar, BossBarComponent bossBar, TitleComponent title) {
+        this.content = content;
+        this.lines = lines;
+        this.sound = sound;
+        this.volume = volume;
+        this.pitch = pitch;
+        // Mapped once, so a group hears it through a single audience call
+        this.adventureSound = sound != null ?
+                net.kyori.adventure.sound.Sound.sound(sound, net.kyori.adventure.sound.Sound.Source.MASTER, volume, pitch) :
+                null;
+        this.actionBar = actionBar;
+        this.bossBar = bossBar;
+        this.title = title;
+    }
+
+    public static MessageComponent content(String content) {
+        return new MessageComponent(content != null ? MessageText.of(content) : null,
+                null, null, 1.0f, 1.0f, null, null, null);
+    }
+
+    /**
+     * Create chat content of several lines, sent as a single newline-separated message
+     * @param lines The compiled lines
+     * @return The component
+     */
+    static MessageComponent lines(List<MessageText> lines) {
+        return lines.size() == 1 ?
+                new MessageComponent(lines.get(0), null, null, 1.0f, 1.0f, null, null, null) :
+                new MessageComponent(null, List.copyOf(lines), null, 1.0f, 1.0f, null, null, null);
+    }
+
+    public static MessageComponent sound(Sound sound, float volume, float pitch) {
+        return new MessageComponent(null, null, sound, volume, pitch, null, null, null);
+    }
+
+    public static MessageComponent actionBar(ActionBar actionBar) {
+        return new MessageComponent(null, null, null, 1.0f, 1.0f, actionBar, null, null);
+    }
+
+    public static MessageComponent bossBar(BossBarComponent bossBar) {
+        return new MessageComponent(null, null, null, 1.0f, 1.0f, null, bossBar, null);
+    }
+
+    public static MessageComponent title(TitleComponent title) {
+        return new MessageComponent(null, null, null, 1.0f, 1.0f, null, null, title);
+    }
 
     public void send(CommandSender sender, Placeholder... placeholders) {
+        send(sender, RenderContext.of(sender, placeholders));
+    }
+
+    public void send(CommandSender sender, RenderContext context) {
         if (sender == null) return;
 
         // Process content if exists
         if (content != null) {
-            String processed = applyPlaceholders(content, sender, placeholders);
-            sender.sendMessage(ColorUtil.parseMessageFormats(processed));
+            sender.sendMessage(HiveChat.getParser().render(content, context));
+        } else if (lines != null) {
+            sender.sendMessage(renderLines(context));
         }
 
         // Only process these components for Players
@@ -35,102 +101,121 @@ public class MessageComponent {
 
             // Show action bar if exists
             if (actionBar != null) {
-                actionBar.show(player, placeholders);
+                actionBar.show(player, context);
             }
 
             // Show boss bar if exists
             if (bossBar != null) {
-                bossBar.show(player, placeholders);
+                bossBar.show(player, context);
             }
 
             // Show title if exists
             if (title != null) {
-                title.show(player, placeholders);
+                title.show(player, context);
             }
         }
     }
 
-    private String applyPlaceholders(String text, CommandSender sender, Placeholder... placeholders) {
-        if (text == null) return "";
+    /**
+     * Deliver this component to a group of players that render it the same
+     * @param players The players, all owned by the current thread
+     * @param audience A forwarding audience over the players
+     * @param context The context shared by the players
+     */
+    void deliver(List<Player> players, Audience audience, RenderContext context) {
+        if (content != null) {
+            audience.sendMessage(HiveChat.getParser().render(content, context));
+        } else if (lines != null) {
+            audience.sendMessage(renderLines(context));
+        }
+
+        if (adventureSound != null) {
+            audience.playSound(adventureSound);
+        }
 
-        // Apply custom placeholders
-        String processed = text;
-        for (Placeholder placeholder : placeholders) {
-            processed = processed.replace(
-                    "{" + placeholder.getKey() + "}",
-                    placeholder.getValue()
-            );
+        if (actionBar != null) {
+            actionBar.show(players, audience, context);
         }
 
-        // Apply PlaceholderAPI if enabled and sender is a player
-        if (HiveChat.isPapiEnabled() && sender instanceof Player player &&
-                PlaceholderAPI.containsPlaceholders(processed)) {
-            processed = PlaceholderAPI.setPlaceholders(player, processed);
+        if (bossBar != null) {
+            bossBar.show(players, context);
         }
 
-        return processed;
+        if (title != null) {
+            title.show(audience, context);
+        }
     }
 
-    public String getContent() {
-        return content;
+    private Component renderLines(RenderContext context) {
+        MessageParser parser = HiveChat.getParser();
+        List<Component> rendered = new ArrayList<>(lines.size());
+        for (MessageText line : lines) {
+            rendered.add(parser.render(line, context));
+        }
+        // One packet for every line
+        return Component.join(JoinConfiguration.newlines(), rendered);
+    }
+
+    /**
+     * @return true if this component sends chat content
+     */
+    boolean isChat() {
+        return content != null || lines != null;
+    }
+
+    /**
+     * Visit every chat line this component sends
+     * @param action The action to run for each line
+     */
+    void forEachLine(Consumer<MessageText> action) {
+        if (content != null) action.accept(content);
+        if (lines != null) lines.forEach(action);
+    }
+
+    /**
+     * Visit every piece of text this component renders
+     * @param action The action to run for each text
+     */
+    void forEachText(Consumer<MessageText> action) {
+        forEachLine(action);
+        if (actionBar != null) action.accept(actionBar.getText());
+        if (bossBar != null) action.accept(bossBar.getText());
+        if (title != null) {
+            action.accept(title.getTitleText());
+            action.accept(title.getSubtitleText());
+        }
     }
 
-    public MessageComponent setContent(String content) {
-        this.content = content;
-        return this;
+    public String getContent() {
+        if (lines != null) {
+            List<String> sources = new ArrayList<>(lines.size());
+            lines.forEach(line -> sources.add(line.getSource()));
+            return String.join("\n", sources);
+        }
+        return content != null ? content.getSource() : null;
     }
 
     public Sound getSound() {
         return sound;
     }
 
-    public MessageComponent setSound(Sound sound) {
-        this.sound = sound;
-        return this;
-    }
-
     public float getVolume() {
         return volume;
     }
 
-    public MessageComponent setVolume(float volume) {
-        this.volume = volume;
-        return this;
-    }
-
     public float getPitch() {
         return pitch;
     }
 
-    public MessageComponent setPitch(float pitch) {
-        this.pitch = pitch;
-        return this;
-    }
-
     public ActionBar getActionBar() {
         return actionBar;
     }
 
-    public MessageComponent setActionBar(ActionBar actionBar) {
-        this.actionBar = actionBar;
-        return this;
-    }
-
     public BossBarComponent getBossBar() {
         return bossBar;
     }
 
-    public MessageComponent setBossBar(BossBarComponent bossBar) {
-        this.bossBar = bossBar;
-        return this;
-    }
-
     public TitleComponent getTitle() {
         return title;
     }
-
-    public MessageComponent setTitle(TitleComponent title) {
-        this.title = title;
-        return this;
-    }
 }
\ No newline at end of file
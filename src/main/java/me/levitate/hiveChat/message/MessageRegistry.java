@@ -1,12 +1,16 @@
 package me.levitate.hiveChat.message;
 
 import me.levitate.hiveChat.HiveChat;
+import me.levitate.hiveChat.parser.CompileReport;
 import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderSet;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -27,7 +31,7 @@ public class MessageRegistry {
             throw new IllegalArgumentException("Message key cannot be null or empty");
         }
         messages.put(key, message != null ? message : "");
-        // Pre-cache the message parsing
+        // Compile once and pin it, registered messages are never reparsed
         HiveChat.saveMessage(key, message);
         return this;
     }
@@ -57,6 +61,7 @@ public class MessageRegistry {
      */
     public MessageRegistry unregister(String key) {
         messages.remove(key);
+        HiveChat.getParser().unpinMessage(key);
         return this;
     }
     
@@ -75,11 +80,22 @@ public class MessageRegistry {
      * @param placeholders Optional placeholders
      */
     public void send(String key, Player player, Placeholder... placeholders) {
+        send(key, player, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    /**
+     * Send a registered message to a player
+     * @param key The message key
+     * @param player The player to send to
+     * @param set A reusable placeholder set
+     * @param placeholders Optional placeholders, taking precedence over the set
+     */
+    public void send(String key, Player player, PlaceholderSet set, Placeholder... placeholders) {
         if (player == null || !player.isOnline()) return;
         
         String message = messages.get(key);
         if (message != null) {
-            HiveChat.sendSaved(key, player, placeholders);
+            sendToPlayer(key, message, player, set, placeholders);
         }
     }
     
@@ -90,14 +106,25 @@ public class MessageRegistry {
      * @param placeholders Optional placeholders
      */
     public void send(String key, CommandSender sender, Placeholder... placeholders) {
+        send(key, sender, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    /**
+     * Send a registered message to a command sender
+     * @param key The message key
+     * @param sender The command sender
+     * @param set A reusable placeholder set
+     * @param placeholders Optional placeholders, taking precedence over the set
+     */
+    public void send(String key, CommandSender sender, PlaceholderSet set, Placeholder... placeholders) {
         if (sender == null) return;
         
         String message = messages.get(key);
         if (message != null) {
             if (sender instanceof Player player) {
-                HiveChat.sendSaved(key, player, placeholders);
+                sendToPlayer(key, message, player, set, placeholders);
             } else {
-                HiveChat.send(sender, message, placeholders);
+                HiveChat.send(sender, message, set, placeholders);
             }
         }
     }
@@ -108,11 +135,38 @@ public class MessageRegistry {
      * @param placeholders Optional placeholders
      */
     public void broadcast(String key, Placeholder... placeholders) {
+        broadcast(key, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    /**
+     * Broadcast a registered message to all players
+     * @param key The message key
+     * @param set A reusable placeholder set
+     * @param placeholders Optional placeholders, taking precedence over the set
+     */
+    public void broadcast(String key, PlaceholderSet set, Placeholder... placeholders) {
         String message = messages.get(key);
-        if (message != null) {
-            HiveChat.broadcastSaved(key, placeholders);
+        if (message == null) return;
+
+        if (isCompiled(key)) {
+            HiveChat.broadcastSaved(key, set, placeholders);
+        } else {
+            HiveChat.broadcast(message, set, placeholders);
         }
     }
+
+    private void sendToPlayer(String key, String message, Player player, PlaceholderSet set, Placeholder... placeholders) {
+        if (isCompiled(key)) {
+            HiveChat.sendSaved(key, player, set, placeholders);
+        } else {
+            // Registered moments ago and still compiling, send the source instead of dropping it
+            HiveChat.send(player, message, set, placeholders);
+        }
+    }
+
+    private boolean isCompiled(String key) {
+        return HiveChat.getParser().getPinnedMessage(key) != null;
+    }
     
     /**
      * Import messages from a map
@@ -120,17 +174,39 @@ public class MessageRegistry {
      * @return This registry for chaining
      */
     public MessageRegistry importMessages(Map<String, String> messagesMap) {
-        if (messagesMap == null || messagesMap.isEmpty()) return this;
-        
-        messagesMap.forEach(this::register);
+        importMessagesAsync(messagesMap);
         return this;
     }
+
+    /**
+     * Import messages from a map, compiling them in parallel
+     * @param messagesMap Map of message keys to message content
+     * @return A future completed with the compile report once every message is ready to send
+     */
+    public CompletableFuture<CompileReport> importMessagesAsync(Map<String, String> messagesMap) {
+        if (messagesMap == null || messagesMap.isEmpty()) {
+            return CompletableFuture.completedFuture(new CompileReport(0, Map.of(), 0L));
+        }
+
+        Map<String, String> imported = new HashMap<>(messagesMap.size());
+        messagesMap.forEach((key, message) -> {
+            if (key == null || key.isEmpty()) {
+                throw new IllegalArgumentException("Message key cannot be null or empty");
+            }
+            imported.put(key, message != null ? message : "");
+        });
+
+        messages.putAll(imported);
+        // Messages not compiled yet are sent from their source until the whole set is pinned
+        return HiveChat.saveMessages(imported);
+    }
     
     /**
      * Clear all registered messages
      * @return This registry for chaining
      */
     public MessageRegistry clearMessages() {
+        HiveChat.getParser().unpinMessages(messages.keySet());
         messages.clear();
         return this;
     }
@@ -0,0 +1,229 @@
+package me.levitate.hiveChat.message;
+
+import me.levitate.hiveChat.parser.PapiResolver;
+import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderTemplate;
+import me.levitate.hiveChat.util.ColorUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.KeybindComponent;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A piece of message text compiled at parse time.
+ * Text without {key} or PlaceholderAPI %...% tokens is static, and its Component is built once
+ * and shared by every send. Text with placeholders is parsed once into a Component tree with
+ * a marker at every slot, which is filled at send time without parsing the template again.
+ */
+public final class MessageText {
+    public static final MessageText EMPTY = of("");
+
+    private static final String SLOT_TAG = "hivechat_slot";
+    private static final String SLOT_MARKER = "hivechat:slot:";
+    // Tags that style their content character by character
+    private static final Set<String> MODIFYING_TAGS = Set.of("gradient", "rainbow", "transition", "pride");
+
+    private final PlaceholderTemplate template;
+    private final String[] papiTokens;
+    private final Component staticComponent;
+    private final Component tree;
+
+    private MessageText(PlaceholderTemplate template, String[] papiTokens, Component staticComponent, Component tree) {
+        this.template = template;
+        this.papiTokens = papiTokens;
+        this.staticComponent = staticComponent;
+        this.tree = tree;
+    }
+
+    /**
+     * Compile text, pre-building its Component when it is static or its slot tree when it is not
+     * @param text The raw text
+     * @return The compiled text
+     */
+    public static MessageText of(String text) {
+        PlaceholderTemplate template = PlaceholderTemplate.compile(text);
+        String[] papiTokens = PapiResolver.extractTokens(template.getSource());
+        boolean hasPapiTokens = papiTokens.length > 0;
+
+        if (!template.hasPlaceholders() && !hasPapiTokens) {
+            return new MessageText(template, papiTokens, ColorUtil.parseMessageFormats(template.getSource()), null);
+        }
+
+        // PlaceholderAPI works on text, slots inside a tag are part of the tag itself,
+        // and gradients and the like need the value's characters to spread across
+        Component tree = hasPapiTokens || needsStringPath(template) ? null : compileTree(template);
+        return new MessageText(template, papiTokens, null, tree);
+    }
+
+    /**
+     * Parse the template once with every slot replaced by a marker component
+     */
+    private static Component compileTree(PlaceholderTemplate template) {
+        StringBuilder source = new StringBuilder(template.getSource().length() + template.getSlotCount() * 20);
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            source.append(template.getLiteral(i))
+                    .append('<').append(SLOT_TAG).append(':').append(i).append('>');
+        }
+        source.append(template.getLiteral(template.getSlotCount()));
+
+        TagResolver slots = TagResolver.resolver(SLOT_TAG, (arguments, context) -> {
+            int index = Integer.parseInt(arguments.popOr("Slot index expected").value());
+            return Tag.selfClosingInserting(Component.keybind(SLOT_MARKER + template.getSlotKey(index)));
+        });
+
+        return ColorUtil.parseMessageFormats(source.toString(), slots);
+    }
+
+    /**
+     * Check whether any slot sits inside a MiniMessage tag, such as {@code <color:{color}>}, or inside
+     * a tag that styles its content per character, such as {@code <gradient>}. A marker is a single
+     * glyph to those tags, so the value would get one color and shift the rest of the text.
+     */
+    private static boolean needsStringPath(PlaceholderTemplate template) {
+        boolean insideTag = false;
+        int modifying = 0;
+        StringBuilder tag = new StringBuilder();
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            String literal = template.getLiteral(i);
+            for (int j = 0; j < literal.length(); j++) {
+                char c = literal.charAt(j);
+                if (c == '\\') {
+                    j++;
+                } else if (c == '<') {
+                    insideTag = true;
+                    tag.setLength(0);
+                } else if (c == '>') {
+                    if (insideTag) {
+                        modifying = trackModifyingTag(tag.toString(), modifying);
+                    }
+                    insideTag = false;
+                } else if (insideTag) {
+                    tag.append(c);
+                }
+            }
+
+            if (insideTag || modifying > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int trackModifyingTag(String tag, int depth) {
+        boolean closing = tag.startsWith("/");
+        int end = closing ? 1 : 0;
+        while (end < tag.length() && tag.charAt(end) != ':' && !Character.isWhitespace(tag.charAt(end))) {
+            end++;
+        }
+
+        String name = tag.substring(closing ? 1 : 0, end).toLowerCase(Locale.ROOT);
+        if (name.equals("reset")) {
+            return 0;
+        }
+        if (!MODIFYING_TAGS.contains(name)) {
+            return depth;
+        }
+        return closing ? Math.max(0, depth - 1) : depth + 1;
+    }
+
+    /**
+     * Check for PlaceholderAPI style %identifier% tokens without touching PlaceholderAPI itself
+     * @param text The text to check
+     * @return true if the text may contain PlaceholderAPI placeholders
+     */
+    public static boolean containsPapiTokens(String text) {
+        return PapiResolver.containsTokens(text);
+    }
+
+    /**
+     * Fill the pre-parsed tree with placeholder values
+     * @param placeholders Looks up the placeholder for a key, returning null to leave the slot as {key}
+     * @return The rendered component
+     * @throws IllegalStateException if this text has no tree
+     */
+    public Component renderTree(Function<String, Placeholder> placeholders) {
+        if (tree == null) {
+            throw new IllegalStateException("Text has no component tree: " + getSource());
+        }
+        return fill(tree, placeholders);
+    }
+
+    private static Component fill(Component component, Function<String, Placeholder> placeholders) {
+        if (component instanceof KeybindComponent keybind && keybind.keybind().startsWith(SLOT_MARKER)) {
+            String key = keybind.keybind().substring(SLOT_MARKER.length());
+            Placeholder placeholder = placeholders.apply(key);
+            Component value = placeholder != null ? placeholder.asComponent() : Component.text("{" + key + "}");
+            return value.applyFallbackStyle(keybind.style());
+        }
+
+        List<Component> children = component.children();
+        List<Component> filled = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component result = fill(child, placeholders);
+            if (result != child && filled == null) {
+                filled = new ArrayList<>(children.size());
+                filled.addAll(children.subList(0, i));
+            }
+            if (filled != null) {
+                filled.add(result);
+            }
+        }
+
+        return filled != null ? component.children(filled) : component;
+    }
+
+    /**
+     * @return true if the text itself contains PlaceholderAPI tokens
+     */
+    public boolean hasPapiTokens() {
+        return papiTokens.length > 0;
+    }
+
+    /**
+     * @return The distinct PlaceholderAPI %tokens% of the text, extracted when it was compiled
+     */
+    public List<String> getPapiTokens() {
+        return List.of(papiTokens);
+    }
+
+    /**
+     * @return true if this text renders the same for every recipient and placeholder set
+     */
+    public boolean isStatic() {
+        return staticComponent != null;
+    }
+
+    /**
+     * @return The pre-built Component, or null if this text is not static
+     */
+    public Component getStaticComponent() {
+        return staticComponent;
+    }
+
+    /**
+     * @return true if placeholders can be inserted into a pre-parsed tree instead of the raw text
+     */
+    public boolean hasTree() {
+        return tree != null;
+    }
+
+    public PlaceholderTemplate getTemplate() {
+        return template;
+    }
+
+    public String getSource() {
+        return template.getSource();
+    }
+
+    @Override
+    public String toString() {
+        return template.getSource();
+    }
+}
@@ -1,21 +1,85 @@
 package me.levitate.hiveChat.message;
 
+import me.levitate.hiveChat.HiveChat;
+import me.levitate.hiveChat.parser.MessageParser;
 import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderSet;
+import me.levitate.hiveChat.placeholder.UniversalPlaceholderManager;
+import me.levitate.hiveChat.util.ServerUtil;
+import net.kyori.adventure.audience.Audience;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
-public class ParsedMessage {
-    private final List<MessageComponent> components = new ArrayList<>();
+/**
+ * A parsed message. Parsed messages are immutable, so a single instance
+ * can be cached and shared between threads and Folia regions.
+ */
+public final class ParsedMessage {
+    public static final ParsedMessage EMPTY = new ParsedMessage(List.of());
+
+    private final List<MessageComponent> components;
+    private final Set<String> placeholderKeys;
+    private final boolean papiDependent;
 
     /**
-     * Add a component to this message
-     * @param component The component to add
+     * Create a message from its components
+     * @param components The components, in the order they are sent
      */
-    public void addComponent(MessageComponent component) {
-        components.add(component);
+    public ParsedMessage(List<MessageComponent> components) {
+        this.components = List.copyOf(components);
+
+        Set<String> keys = new HashSet<>();
+        boolean papi = false;
+        for (MessageComponent component : this.components) {
+            List<MessageText> texts = new ArrayList<>(2);
+            component.forEachText(texts::add);
+            for (MessageText text : texts) {
+                keys.addAll(text.getTemplate().getKeys());
+                papi |= text.hasPapiTokens();
+            }
+        }
+        this.placeholderKeys = Set.copyOf(keys);
+        this.papiDependent = papi;
+    }
+
+    /**
+     * Join messages sent as consecutive lines into one message. Their chat content is sent as a single
+     * newline-separated message, followed by their other components in order.
+     * @param messages The messages, one per line
+     * @return The joined message
+     */
+    public static ParsedMessage joinLines(List<ParsedMessage> messages) {
+        if (messages.size() == 1) {
+            return messages.get(0);
+        }
+
+        List<MessageText> lines = new ArrayList<>();
+        List<MessageComponent> effects = new ArrayList<>();
+        for (ParsedMessage message : messages) {
+            for (MessageComponent component : message.components) {
+                if (component.isChat()) {
+                    component.forEachLine(lines::add);
+                } else {
+                    effects.add(component);
+                }
+            }
+        }
+
+        List<MessageComponent> joined = new ArrayList<>(effects.size() + 1);
+        if (!lines.isEmpty()) {
+            joined.add(MessageComponent.lines(lines));
+        }
+        joined.addAll(effects);
+        return joined.isEmpty() ? EMPTY : new ParsedMessage(joined);
     }
 
     /**
@@ -24,66 +88,220 @@ public class ParsedMessage {
      * @param placeholders Placeholders to apply
      */
     public void send(CommandSender sender, Placeholder... placeholders) {
+        send(sender, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    /**
+     * Send this message to a command sender
+     * @param sender The command sender to send to
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
+     */
+    public void send(CommandSender sender, PlaceholderSet set, Placeholder... placeholders) {
+        if (components.isEmpty()) return;
+
+        // Placeholders may need the thread that owns the player, continue there rather than wait for it
+        if (sender instanceof Player player && !ServerUtil.isEntityInCurrentRegion(player)) {
+            ServerUtil.runAtEntity(player, p -> send(p, set, placeholders));
+            return;
+        }
+
+        // One context for the whole message, so components share placeholder values
+        RenderContext context = RenderContext.of(sender, set, placeholders);
         for (MessageComponent component : components) {
-            component.send(sender, placeholders);
+            component.send(sender, context);
         }
     }
 
     /**
-     * Get all components in this message
-     * @return Unmodifiable list of components
+     * Send this message within an existing context, such as one shared by every recipient of a broadcast
+     * @param sender The command sender to send to
+     * @param context The render context
      */
-    public List<MessageComponent> getComponents() {
-        return Collections.unmodifiableList(components);
+    public void send(CommandSender sender, RenderContext context) {
+        if (components.isEmpty()) return;
+
+        if (sender instanceof Player player && !ServerUtil.isEntityInCurrentRegion(player)) {
+            ServerUtil.runAtEntity(player, p -> send(p, context));
+            return;
+        }
+
+        for (MessageComponent component : components) {
+            component.send(sender, context);
+        }
     }
 
     /**
-     * Check if this message has any components
-     * @return true if this message has components, false otherwise
+     * Send this message to several players. When it renders the same for all of them it is rendered
+     * once and the same Components are sent to every recipient.
+     * @param recipients The players to send to
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
      */
-    public boolean hasComponents() {
-        return !components.isEmpty();
+    public void broadcast(Collection<? extends Player> recipients, PlaceholderSet set, Placeholder... placeholders) {
+        if (components.isEmpty() || recipients.isEmpty()) return;
+
+        // Rendered once when every recipient sees the same thing, otherwise for each recipient
+        RenderContext shared = isViewerDependent(set, placeholders) ? null : prerender(set, placeholders);
+        dispatch(recipients, shared, set, placeholders);
     }
 
     /**
-     * Create a deep copy of this message
-     * Useful for reusing cached messages
-     * @return A new instance with the same components
+     * Deliver to players on the threads that own them: as one group on the main thread, or with one task
+     * per region section on Folia, so regions deliver in parallel without a task per player
+     * @param recipients The players to deliver to
+     * @param shared The prerendered context, or null to render for each recipient
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
      */
-    public ParsedMessage copy() {
-        ParsedMessage copy = new ParsedMessage();
+    void dispatch(Collection<? extends Player> recipients, RenderContext shared, PlaceholderSet set, Placeholder[] placeholders) {
+        Consumer<List<Player>> delivery = shared != null ?
+                group -> deliver(group, shared) :
+                group -> group.forEach(player -> send(player, set, placeholders));
 
-        // Deep copy the components
-        for (MessageComponent component : this.components) {
-            // Create a new component with the same properties
-            MessageComponent newComponent = new MessageComponent();
-
-            // Copy only the non-null properties
-            if (component.getContent() != null) {
-                newComponent.setContent(component.getContent());
+        if (!ServerUtil.isFolia()) {
+            // Every player is owned by the main thread, so the whole group is delivered at once
+            List<Player> group = List.copyOf(recipients);
+            if (Bukkit.isPrimaryThread()) {
+                delivery.accept(group);
+            } else {
+                ServerUtil.runTask(() -> delivery.accept(group));
             }
+            return;
+        }
 
-            if (component.getSound() != null) {
-                newComponent.setSound(component.getSound())
-                        .setVolume(component.getVolume())
-                        .setPitch(component.getPitch());
+        HiveChat.getLocationIndex().groupByRegionSection(recipients).forEach((section, players) -> {
+            World world = section != null ? Bukkit.getWorld(section.world()) : null;
+            if (world == null) {
+                players.forEach(player -> ServerUtil.runAtEntity(player, p -> delivery.accept(List.of(p))));
+                return;
             }
 
-            if (component.getActionBar() != null) {
-                newComponent.setActionBar(component.getActionBar());
-            }
+            ServerUtil.runAtChunk(world, section.chunkX(), section.chunkZ(), () -> {
+                List<Player> owned = new ArrayList<>(players.size());
+                for (Player player : players) {
+                    if (ServerUtil.isEntityInCurrentRegion(player)) {
+                        owned.add(player);
+                    } else {
+                        // Moved to another region since its position was recorded
+                        ServerUtil.runAtEntity(player, p -> delivery.accept(List.of(p)));
+                    }
+                }
+                if (!owned.isEmpty()) {
+                    delivery.accept(owned);
+                }
+            });
+        });
+    }
+
+    /**
+     * Deliver a prerendered message to a group of players through one forwarding audience,
+     * so each component takes one call for the whole group. The players must be owned by the current thread.
+     * @param recipients The players to deliver to
+     * @param shared The context filled by {@link #prerender(PlaceholderSet, Placeholder...)}
+     */
+    public void deliver(Collection<? extends Player> recipients, RenderContext shared) {
+        if (components.isEmpty()) return;
 
-            if (component.getBossBar() != null) {
-                newComponent.setBossBar(component.getBossBar());
+        List<Player> online = new ArrayList<>(recipients.size());
+        for (Player player : recipients) {
+            if (player.isOnline()) {
+                online.add(player);
             }
+        }
+        if (online.isEmpty()) return;
+
+        Audience audience = Audience.audience(online);
+        for (MessageComponent component : components) {
+            component.deliver(online, audience, shared);
+        }
+    }
 
-            if (component.getTitle() != null) {
-                newComponent.setTitle(component.getTitle());
+    /**
+     * Render every text of this message once into a context shared by all recipients
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
+     * @return The shared context, holding the rendered Components
+     */
+    public RenderContext prerender(PlaceholderSet set, Placeholder... placeholders) {
+        RenderContext shared = RenderContext.shared(set, placeholders);
+        MessageParser parser = HiveChat.getParser();
+        for (MessageComponent component : components) {
+            component.forEachText(text -> parser.render(text, shared));
+        }
+        return shared;
+    }
+
+    /**
+     * @return true if this message contains PlaceholderAPI placeholders, so it renders differently per viewer
+     */
+    public boolean isViewerDependent() {
+        return papiDependent;
+    }
+
+    /**
+     * Check whether this message renders differently per viewer with the given placeholders, because it
+     * contains PlaceholderAPI placeholders, references a dynamic universal placeholder, or references a
+     * static one whose value contains PlaceholderAPI placeholders
+     * @param set A reusable placeholder set
+     * @param placeholders Placeholders to apply, taking precedence over the set
+     * @return true if the message has to be rendered for every recipient
+     */
+    public boolean isViewerDependent(PlaceholderSet set, Placeholder... placeholders) {
+        if (papiDependent) return true;
+
+        UniversalPlaceholderManager universal = UniversalPlaceholderManager.getInstance();
+        for (String key : placeholderKeys) {
+            Placeholder placeholder = Placeholder.find(key, placeholders);
+            if (placeholder == null && set != null) {
+                placeholder = set.get(key);
             }
 
-            copy.addComponent(newComponent);
+            if (placeholder == null) {
+                if (universal.isDynamic(key)) return true;
+
+                // A static universal value may carry PlaceholderAPI placeholders as well
+                Placeholder shared = universal.getPlaceholder(key, null);
+                if (shared != null && MessageText.containsPapiTokens(shared.getValue())) return true;
+            } else if (placeholder.isLazy()
+                    || (placeholder.isParsed() && MessageText.containsPapiTokens(placeholder.getValue()))) {
+                // Values may carry PlaceholderAPI placeholders of their own
+                return true;
+            }
         }
+        return false;
+    }
 
-        return copy;
+    /**
+     * @return The distinct placeholder keys referenced by any text of this message
+     */
+    public Set<String> getPlaceholderKeys() {
+        return placeholderKeys;
+    }
+
+    /**
+     * Get all components in this message
+     * @return Unmodifiable list of components
+     */
+    public List<MessageComponent> getComponents() {
+        return components;
+    }
+
+    /**
+     * Check if this message has any components
+     * @return true if this message has components, false otherwise
+     */
+    public boolean hasComponents() {
+        return !components.isEmpty();
+    }
+
+    /**
+     * Parsed messages are immutable, so there is nothing to copy
+     * @return This message
+     * @deprecated Cached messages can be shared directly
+     */
+    @Deprecated
+    public ParsedMessage copy() {
+        return this;
     }
-}
\ No newline at end of file
+}
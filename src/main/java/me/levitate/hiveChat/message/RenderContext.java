@@ -0,0 +1,178 @@
+package me.levitate.hiveChat.message;
+
+import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.placeholder.PlaceholderSet;
+import me.levitate.hiveChat.placeholder.UniversalPlaceholderManager;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The state of a single send to a single recipient, shared by every component of the message.
+ * Each placeholder key is resolved the first time a component references it and remembered for the
+ * rest of the send, as are PlaceholderAPI results, so the work of a send grows with the number of
+ * distinct placeholders rather than the number of components. Placeholders no component uses are
+ * never evaluated. A context belongs to one send on one thread and is not thread-safe.
+ */
+public final class RenderContext {
+    private static final Placeholder[] NO_PLACEHOLDERS = new Placeholder[0];
+
+    private final Player player;
+    private final PlaceholderSet set;
+    private final Placeholder[] placeholders;
+    private final Map<MessageText, Component> rendered;
+    private Map<String, Placeholder> resolved;
+    private Map<String, String> papiValues;
+
+    private RenderContext(Player player, PlaceholderSet set, Placeholder[] placeholders, boolean shared) {
+        this.player = player;
+        this.set = set != null ? set : PlaceholderSet.EMPTY;
+        this.placeholders = placeholders != null ? placeholders : NO_PLACEHOLDERS;
+        this.rendered = shared ? new HashMap<>() : null;
+    }
+
+    /**
+     * Create the context of a send
+     * @param recipient The recipient, dynamic placeholders are only evaluated for players
+     * @param placeholders Specific placeholders, taking precedence over universal ones
+     * @return The context
+     */
+    public static RenderContext of(CommandSender recipient, Placeholder... placeholders) {
+        return of(recipient, PlaceholderSet.EMPTY, placeholders);
+    }
+
+    /**
+     * Create the context of a send
+     * @param recipient The recipient, dynamic placeholders are only evaluated for players
+     * @param set A reusable placeholder set, taking precedence over universal placeholders
+     * @param placeholders Specific placeholders, taking precedence over the set
+     * @return The context
+     */
+    public static RenderContext of(CommandSender recipient, PlaceholderSet set, Placeholder... placeholders) {
+        return new RenderContext(recipient instanceof Player player ? player : null, set, placeholders, false);
+    }
+
+    /**
+     * Create a context shared by every recipient of a message that renders the same for all of them.
+     * Rendered text is remembered, so it is rendered once and the same Components go to every recipient.
+     * The context must be filled on one thread, by {@link ParsedMessage#prerender}, before it is shared.
+     * @param set A reusable placeholder set, taking precedence over universal placeholders
+     * @param placeholders Specific placeholders, taking precedence over the set
+     * @return The context
+     */
+    public static RenderContext shared(PlaceholderSet set, Placeholder... placeholders) {
+        return new RenderContext(null, set, placeholders, true);
+    }
+
+    /**
+     * @return true if this context is shared by several recipients and remembers rendered text
+     */
+    public boolean isShared() {
+        return rendered != null;
+    }
+
+    /**
+     * @param text The compiled text
+     * @return The Component already rendered for the text in this shared context, or null
+     */
+    public Component getRendered(MessageText text) {
+        return rendered != null ? rendered.get(text) : null;
+    }
+
+    /**
+     * Remember the Component rendered for a text, if this context is shared
+     * @param text The compiled text
+     * @param component The rendered Component
+     */
+    public void remember(MessageText text, Component component) {
+        if (rendered != null) {
+            rendered.put(text, component);
+        }
+    }
+
+    /**
+     * Resolve a placeholder key, from the specific placeholders, then the set, then universal placeholders
+     * @param key The placeholder key
+     * @return The placeholder, or null if nothing resolves the key
+     */
+    public Placeholder resolve(String key) {
+        if (resolved == null) {
+            resolved = new HashMap<>();
+        } else if (resolved.containsKey(key)) {
+            return resolved.get(key);
+        }
+
+        Placeholder placeholder = Placeholder.find(key, placeholders);
+        if (placeholder == null) {
+            placeholder = set.get(key);
+        }
+        if (placeholder == null) {
+            UniversalPlaceholderManager manager = UniversalPlaceholderManager.getInstance();
+            placeholder = manager.hasPlaceholders() ? manager.getPlaceholder(key, player) : null;
+        }
+        if (placeholder != null) {
+            // Lazy values are computed once and reused by every component
+            placeholder = placeholder.evaluate();
+        }
+
+        resolved.put(key, placeholder);
+        return placeholder;
+    }
+
+    /**
+     * Replace the resolved placeholder of a key for the rest of the send, such as once its own
+     * PlaceholderAPI placeholders were applied
+     * @param key The placeholder key
+     * @param placeholder The placeholder
+     */
+    public void remember(String key, Placeholder placeholder) {
+        if (resolved == null) {
+            resolved = new HashMap<>();
+        }
+        resolved.put(key, placeholder);
+    }
+
+    /**
+     * Resolve the raw value of a placeholder key
+     * @param key The placeholder key
+     * @return The value, or null if nothing resolves the key
+     */
+    public String resolveValue(String key) {
+        Placeholder placeholder = resolve(key);
+        return placeholder != null ? placeholder.getValue() : null;
+    }
+
+    /**
+     * @return The PlaceholderAPI results of this send by %token%, reused by every component
+     */
+    public Map<String, String> getPapiValues() {
+        if (papiValues == null) {
+            papiValues = new HashMap<>();
+        }
+        return papiValues;
+    }
+
+    /**
+     * @return The recipient if it is a player, otherwise null
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return The placeholder set of this send
+     */
+    public PlaceholderSet getSet() {
+        return set;
+    }
+
+    /**
+     * @return The specific placeholders of this send
+     */
+    public Placeholder[] getPlaceholders() {
+        return placeholders;
+    }
+}
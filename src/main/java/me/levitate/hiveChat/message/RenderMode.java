@@ -0,0 +1,17 @@
+package me.levitate.hiveChat.message;
+
+/**
+ * How placeholder values are combined with message text at send time
+ */
+public enum RenderMode {
+    /**
+     * Templates are parsed into a component tree once and placeholder values are inserted as components.
+     * Values are never parsed together with the template, so they cannot open or close its tags.
+     */
+    COMPONENT,
+
+    /**
+     * Placeholder values are spliced into the raw text, which is then parsed for every send
+     */
+    STRING
+}
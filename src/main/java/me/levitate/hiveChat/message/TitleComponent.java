@@ -2,54 +2,89 @@ package me.levitate.hiveChat.message;
 
 import me.levitate.hiveChat.HiveChat;
 import me.levitate.hiveChat.placeholder.Placeholder;
-import me.levitate.hiveChat.util.ColorUtil;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
 import org.bukkit.entity.Player;
 
 import java.time.Duration;
 
-public class TitleComponent {
-    private String title;
-    private String subtitle;
-    private int fadeIn = 10;
-    private int stay = 70;
-    private int fadeOut = 20;
+public final class TitleComponent {
+    public static final int DEFAULT_FADE_IN = 10;
+    public static final int DEFAULT_STAY = 70;
+    public static final int DEFAULT_FADE_OUT = 20;
 
-    public void show(Player player, Placeholder... placeholders) {
-        if (player == null || !player.isOnline()) return;
-
-        String processedTitle = title != null ?
-                HiveChat.getParser().applyPlaceholders(title, player, placeholders) : "";
-        String processedSubtitle = subtitle != null ?
-                HiveChat.getParser().applyPlaceholders(subtitle, player, placeholders) : "";
+    private final MessageText title;
+    private final MessageText subtitle;
+    private final Title.Times times;
 
-        Component titleComponent = ColorUtil.parseMessageFormats(processedTitle);
-        Component subtitleComponent = ColorUtil.parseMessageFormats(processedSubtitle);
+    private TitleComponent(MessageText title, MessageText subtitle, Title.Times times) {
+        this.title = title;
+        this.subtitle = subtitle;
+        this.times = times;
+    }
 
+    /**
+     * Create a title
+     * @param title The title text
+     * @param subtitle The subtitle text
+     * @param fadeIn Fade in time in ticks
+     * @param stay Stay time in ticks
+     * @param fadeOut Fade out time in ticks
+     * @return The title
+     */
+    public static TitleComponent of(String title, String subtitle, int fadeIn, int stay, int fadeOut) {
         Title.Times times = Title.Times.times(
                 Duration.ofMillis(fadeIn * 50L),
                 Duration.ofMillis(stay * 50L),
                 Duration.ofMillis(fadeOut * 50L)
         );
 
-        player.showTitle(Title.title(titleComponent, subtitleComponent, times));
+        return new TitleComponent(
+                title != null ? MessageText.of(title) : MessageText.EMPTY,
+                subtitle != null ? MessageText.of(subtitle) : MessageText.EMPTY,
+                times);
     }
 
-    public TitleComponent setTitle(String title) {
-        this.title = title;
-        return this;
+    public void show(Player player, Placeholder... placeholders) {
+        show(player, RenderContext.of(player, placeholders));
     }
 
-    public TitleComponent setSubtitle(String subtitle) {
-        this.subtitle = subtitle;
-        return this;
+    public void show(Player player, RenderContext context) {
+        if (player == null || !player.isOnline()) return;
+
+        show((Audience) player, context);
+    }
+
+    /**
+     * Show this title to every member of an audience
+     * @param audience The audience
+     * @param context The context shared by the audience
+     */
+    void show(Audience audience, RenderContext context) {
+        Component titleComponent = HiveChat.getParser().render(title, context);
+        Component subtitleComponent = HiveChat.getParser().render(subtitle, context);
+
+        audience.showTitle(Title.title(titleComponent, subtitleComponent, times));
+    }
+
+    MessageText getTitleText() {
+        return title;
+    }
+
+    MessageText getSubtitleText() {
+        return subtitle;
+    }
+
+    public String getTitle() {
+        return title.getSource();
+    }
+
+    public String getSubtitle() {
+        return subtitle.getSource();
     }
 
-    public TitleComponent setTimes(int fadeIn, int stay, int fadeOut) {
-        this.fadeIn = fadeIn;
-        this.stay = stay;
-        this.fadeOut = fadeOut;
-        return this;
+    public Title.Times getTimes() {
+        return times;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package me.levitate.hiveChat.parser;
+
+import java.util.Map;
+
+/**
+ * The outcome of compiling a set of messages in bulk
+ *
+ * @param compiled     Messages compiled and pinned
+ * @param failures     Message keys that failed to compile, with the reason
+ * @param elapsedNanos Time from the start of the compile until every message was pinned
+ */
+public record CompileReport(int compiled, Map<String, String> failures, long elapsedNanos) {
+
+    public CompileReport {
+        failures = Map.copyOf(failures);
+    }
+
+    /**
+     * @return The number of messages that failed to compile
+     */
+    public int failed() {
+        return failures.size();
+    }
+
+    /**
+     * @return true if every message compiled
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return The elapsed time in milliseconds
+     */
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000L;
+    }
+}
@@ -2,280 +2,625 @@ package me.levitate.hiveChat.parser;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import me.clip.placeholderapi.PlaceholderAPI;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
 import me.levitate.hiveChat.HiveChat;
-import me.levitate.hiveChat.message.*;
+import me.levitate.hiveChat.HiveChatSettings;
+import me.levitate.hiveChat.message.MessageText;
+import me.levitate.hiveChat.message.ParsedMessage;
+import me.levitate.hiveChat.message.RenderContext;
+import me.levitate.hiveChat.message.RenderMode;
 import me.levitate.hiveChat.placeholder.Placeholder;
-import me.levitate.hiveChat.placeholder.UniversalPlaceholderManager;
+import me.levitate.hiveChat.placeholder.PlaceholderTemplate;
+import me.levitate.hiveChat.util.ColorUtil;
 import me.levitate.hiveChat.util.ServerUtil;
-import org.bukkit.Bukkit;
-import org.bukkit.Sound;
-import org.bukkit.boss.BarColor;
-import org.bukkit.boss.BarStyle;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 public class MessageParser {
-    private static final Pattern SOUND_PATTERN = Pattern.compile("<sound:([A-Za-z0-9_]+)(?::(\\d+(?:\\.\\d+)?):?(\\d+(?:\\.\\d+)?)?)>");
-    private static final Pattern ACTIONBAR_PATTERN = Pattern.compile("<actionbar(?::(\\d+))?>(.*?)</actionbar>", Pattern.DOTALL);
-    private static final Pattern BOSSBAR_PATTERN = Pattern.compile("<bossbar:([^:]+):([^:]+):([^:>]+)(?::(\\d+))?>(.*?)</bossbar>", Pattern.DOTALL);
-    private static final Pattern TITLE_PATTERN = Pattern.compile("<title(?::(\\d+):(\\d+):(\\d+))?>(.*?)\\|(.*?)</title>", Pattern.DOTALL);
+    // Stand-ins for verbatim values while PlaceholderAPI runs, noncharacters that never appear in real text
+    private static final char VALUE_START = '\uFDD0';
+    private static final char VALUE_END = '\uFDD1';
+    private static final String VALUE_TAG = "hivechat_value";
 
     private final Cache<String, ParsedMessage> messageCache;
+    private final LongAdder cacheWeight = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    // Copy-on-write so lookups are a single volatile read, written only when messages are saved
+    private volatile Map<String, ParsedMessage> pinnedMessages = Map.of();
+    private final Map<String, String> pendingPins = new ConcurrentHashMap<>();
+    // Parses running on the parse executor, shared by every caller asking for the same template meanwhile
+    private final Map<String, CompletableFuture<ParsedMessage>> inFlight = new ConcurrentHashMap<>();
+    private final Object pinLock = new Object();
+    private final TagTokenizer tagTokenizer;
+    private final PapiResolver papiResolver;
+    private final Executor parseExecutor;
+    private final int inlineParseThreshold;
     private final Plugin plugin;
+    private volatile RenderMode renderMode = RenderMode.COMPONENT;
+    private final AtomicBoolean offThreadPapiWarned = new AtomicBoolean();
 
     public MessageParser(Plugin plugin) {
+        this(plugin, HiveChatSettings.defaults(), ServerUtil::runTaskAsync);
+    }
+
+    public MessageParser(Plugin plugin, HiveChatSettings settings, Executor parseExecutor) {
         this.plugin = plugin;
+        this.tagTokenizer = new TagTokenizer(plugin.getLogger());
+        this.papiResolver = new PapiResolver(plugin, settings);
+        this.parseExecutor = parseExecutor;
+        this.inlineParseThreshold = settings.getInlineParseThreshold();
+
+        // Entries weigh their template length, so a few huge one-off strings cannot crowd out the rest
         this.messageCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(5, TimeUnit.MINUTES)
+                .maximumWeight(settings.getParseCacheMaxWeight())
+                .weigher((String message, ParsedMessage parsed) -> message.length())
+                .expireAfterAccess(settings.getParseCacheExpiry().toMillis(), TimeUnit.MILLISECONDS)
+                .removalListener((RemovalNotification<String, ParsedMessage> notification) ->
+                        cacheWeight.add(-notification.getKey().length()))
+                .recordStats()
                 .build();
     }
 
     public CompletableFuture<ParsedMessage> parseAsync(String message) {
+        return parseAsync(message, true);
+    }
+
+    /**
+     * Parse lines sent together, each through the parse cache, and join them into one message whose
+     * chat content is sent as a single newline-separated message
+     * @param lines The raw lines
+     * @return A future completed with the joined message
+     */
+    public CompletableFuture<ParsedMessage> parseLinesAsync(List<String> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return CompletableFuture.completedFuture(ParsedMessage.EMPTY);
+        }
+        if (lines.size() == 1) {
+            return parseAsync(lines.get(0));
+        }
+
+        List<CompletableFuture<ParsedMessage>> parsed = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            parsed.add(parseAsync(line));
+        }
+        return CompletableFuture.allOf(parsed.toArray(new CompletableFuture[0]))
+                .thenApply(done -> ParsedMessage.joinLines(parsed.stream().map(CompletableFuture::join).toList()));
+    }
+
+    /**
+     * Parse a message without adding it to the parse cache, for messages that are pinned instead
+     * @param message The raw message
+     * @return A future completed with the parsed message
+     */
+    public CompletableFuture<ParsedMessage> compileAsync(String message) {
+        return parseAsync(message, false);
+    }
+
+    private CompletableFuture<ParsedMessage> parseAsync(String message, boolean cache) {
         if (message == null || message.isEmpty()) {
-            return CompletableFuture.completedFuture(new ParsedMessage());
+            return CompletableFuture.completedFuture(ParsedMessage.EMPTY);
         }
 
         // Check cache first
         ParsedMessage cached = messageCache.getIfPresent(message);
         if (cached != null) {
-            // Create a copy to avoid modifying the cached version
-            return CompletableFuture.completedFuture(cached.copy());
+            // Parsed messages are immutable, so the cached instance is shared as is
+            return CompletableFuture.completedFuture(cached);
         }
 
-        // Parse asynchronously
+        // Short templates parse faster than a hand-off to another thread
+        if (message.length() <= inlineParseThreshold) {
+            return CompletableFuture.completedFuture(parseAndStore(message, cache));
+        }
+
+        // Join a parse of the same template that is already running
         CompletableFuture<ParsedMessage> future = new CompletableFuture<>();
+        CompletableFuture<ParsedMessage> running = inFlight.putIfAbsent(message, future);
+        if (running != null) {
+            // The running parse may be a compile that skips the cache, this caller still wants it cached
+            return cache ? running.thenApply(parsed -> {
+                storeIfAbsent(message, parsed);
+                return parsed;
+            }) : running;
+        }
 
-        ServerUtil.runTaskAsync(() -> {
+        // Another parse may have finished between the cache check and claiming the template
+        cached = messageCache.getIfPresent(message);
+        if (cached != null) {
+            inFlight.remove(message, future);
+            future.complete(cached);
+            return future;
+        }
+
+        // Parse asynchronously
+        parseExecutor.execute(() -> {
             try {
-                ParsedMessage parsed = parseMessage(message);
-                messageCache.put(message, parsed);
-                future.complete(parsed);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error parsing message: " + e.getMessage());
-                future.complete(new ParsedMessage());
+                future.complete(parseAndStore(message, cache));
+            } catch (Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(message, future);
             }
         });
 
         return future;
     }
 
+    private ParsedMessage parseAndStore(String message, boolean cache) {
+        try {
+            ParsedMessage parsed = parseMessage(message);
+            if (cache) {
+                cacheWeight.add(message.length());
+                messageCache.put(message, parsed);
+            }
+            return parsed;
+        } catch (Exception e) {
+            plugin.getLogger().warning("Error parsing message: " + e.getMessage());
+            return ParsedMessage.EMPTY;
+        }
+    }
+
+    private void storeIfAbsent(String message, ParsedMessage parsed) {
+        // A failed parse comes back as EMPTY and is not cached
+        if (parsed != ParsedMessage.EMPTY && messageCache.asMap().putIfAbsent(message, parsed) == null) {
+            cacheWeight.add(message.length());
+        }
+    }
+
+    /**
+     * @return The number of templates waiting for a parse thread
+     */
+    public int getParseQueueDepth() {
+        return parseExecutor instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+    }
+
+    /**
+     * @return The number of distinct templates currently being parsed on the parse executor
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
     private ParsedMessage parseMessage(String message) {
-        ParsedMessage parsed = new ParsedMessage();
-        StringBuilder remainingText = new StringBuilder(message);
+        long start = System.nanoTime();
+        try {
+            return tagTokenizer.tokenize(message);
+        } finally {
+            totalLoadTime.add(System.nanoTime() - start);
+            loadCount.increment();
+        }
+    }
 
-        // Process titles first
-        Matcher titleMatcher = TITLE_PATTERN.matcher(remainingText);
-        while (titleMatcher.find()) {
-            try {
-                String mainTitle = titleMatcher.group(4).trim();
-                String subtitle = titleMatcher.group(5).trim();
-
-                int fadeIn = titleMatcher.group(1) != null ?
-                        Integer.parseInt(titleMatcher.group(1)) : 10;
-                int stay = titleMatcher.group(2) != null ?
-                        Integer.parseInt(titleMatcher.group(2)) : 70;
-                int fadeOut = titleMatcher.group(3) != null ?
-                        Integer.parseInt(titleMatcher.group(3)) : 20;
-
-                TitleComponent titleComponent = new TitleComponent()
-                        .setTitle(mainTitle)
-                        .setSubtitle(subtitle)
-                        .setTimes(fadeIn, stay, fadeOut);
-
-                parsed.addComponent(new MessageComponent()
-                        .setTitle(titleComponent));
-
-                // Remove the entire title tag and its content
-                int start = titleMatcher.start();
-                int end = titleMatcher.end();
-                remainingText.replace(start, end, "");
-
-                // Adjust matcher region after removal
-                titleMatcher.region(0, remainingText.length());
-            } catch (Exception e) {
-                plugin.getLogger().warning("Invalid title format at: " + titleMatcher.group());
-            }
+    /**
+     * Render compiled text for a player, applying specific, universal and PlaceholderAPI placeholders
+     * @param text The compiled text
+     * @param player The player, or null for static universal placeholders only
+     * @param placeholders Specific placeholders, taking precedence over universal ones
+     * @return The rendered component
+     */
+    public Component render(MessageText text, Player player, Placeholder... placeholders) {
+        return render(text, RenderContext.of(player, placeholders));
+    }
+
+    /**
+     * Render compiled text within a send, applying specific, universal and PlaceholderAPI placeholders
+     * @param text The compiled text
+     * @param context The send being rendered
+     * @return The rendered component
+     */
+    public Component render(MessageText text, RenderContext context) {
+        if (text.isStatic()) {
+            return text.getStaticComponent();
         }
 
-        // Process sounds
-        Matcher soundMatcher = SOUND_PATTERN.matcher(remainingText);
-        while (soundMatcher.find()) {
-            try {
-                Sound sound = Sound.valueOf(soundMatcher.group(1).toUpperCase());
-                float volume = soundMatcher.group(2) != null ?
-                        Float.parseFloat(soundMatcher.group(2)) : 1.0f;
-                float pitch = soundMatcher.group(3) != null ?
-                        Float.parseFloat(soundMatcher.group(3)) : 1.0f;
-
-                parsed.addComponent(new MessageComponent()
-                        .setSound(sound)
-                        .setVolume(volume)
-                        .setPitch(pitch));
-
-                // Remove the sound tag
-                int start = soundMatcher.start();
-                int end = soundMatcher.end();
-                remainingText.replace(start, end, "");
-                soundMatcher.region(0, remainingText.length());
-            } catch (Exception e) {
-                plugin.getLogger().warning("Invalid sound format: " + soundMatcher.group(1));
-            }
+        // Shared by every recipient of a broadcast, rendered once
+        Component rendered = context.getRendered(text);
+        if (rendered != null) {
+            return rendered;
         }
 
-        // Process action bars with similar pattern
-        Matcher actionBarMatcher = ACTIONBAR_PATTERN.matcher(remainingText);
-        while (actionBarMatcher.find()) {
-            try {
-                String content = actionBarMatcher.group(2);
-                int duration = actionBarMatcher.group(1) != null ?
-                        Integer.parseInt(actionBarMatcher.group(1)) : 60;
-
-                ActionBar actionBar = new ActionBar()
-                        .setContent(content)
-                        .setDuration(duration);
-
-                parsed.addComponent(new MessageComponent()
-                        .setActionBar(actionBar));
-
-                // Remove the action bar tag and content
-                int start = actionBarMatcher.start();
-                int end = actionBarMatcher.end();
-                remainingText.replace(start, end, "");
-                actionBarMatcher.region(0, remainingText.length());
-            } catch (Exception e) {
-                plugin.getLogger().warning("Invalid action bar format at: " + actionBarMatcher.group());
-            }
+        rendered = renderText(text, context);
+        context.remember(text, rendered);
+        return rendered;
+    }
+
+    private Component renderText(MessageText text, RenderContext context) {
+        Player player = context.getPlayer();
+        if (renderMode == RenderMode.COMPONENT && text.hasTree()) {
+            return text.renderTree(key -> {
+                // Only the keys the text references are resolved, each at most once per send
+                Placeholder placeholder = context.resolve(key);
+
+                // Values can still carry PlaceholderAPI placeholders of their own
+                if (placeholder != null && placeholder.isParsed() && player != null
+                        && MessageText.containsPapiTokens(placeholder.getValue())) {
+                    placeholder = Placeholder.of(key, applyPapi(player, placeholder.getValue(), context));
+                    context.remember(key, placeholder);
+                }
+                return placeholder;
+            });
         }
 
-        // Process boss bars with similar pattern
-        Matcher bossBarMatcher = BOSSBAR_PATTERN.matcher(remainingText);
-        while (bossBarMatcher.find()) {
-            try {
-                BarColor color = BarColor.valueOf(bossBarMatcher.group(1).toUpperCase());
-                BarStyle style = BarStyle.valueOf(bossBarMatcher.group(2).toUpperCase());
-                double progress = Double.parseDouble(bossBarMatcher.group(3));
-                int duration = bossBarMatcher.group(4) != null ?
-                        Integer.parseInt(bossBarMatcher.group(4)) : 600;
-                String content = bossBarMatcher.group(5);
-
-                BossBarComponent bossBar = new BossBarComponent()
-                        .setContent(content)
-                        .setColor(color)
-                        .setStyle(style)
-                        .setProgress(progress)
-                        .setDuration(duration);
-
-                parsed.addComponent(new MessageComponent()
-                        .setBossBar(bossBar));
-
-                // Remove the boss bar tag and content
-                int start = bossBarMatcher.start();
-                int end = bossBarMatcher.end();
-                remainingText.replace(start, end, "");
-                bossBarMatcher.region(0, remainingText.length());
-            } catch (Exception e) {
-                plugin.getLogger().warning("Invalid boss bar format at: " + bossBarMatcher.group());
-            }
+        // Verbatim values go in as inserted components, so they are never parsed
+        List<Placeholder> verbatim = new ArrayList<>(0);
+        String processed = substitute(text.getTemplate(), context, verbatim);
+        if (verbatim.isEmpty()) {
+            return ColorUtil.parseMessageFormats(processed);
         }
 
-        // Add remaining text as content if any
-        String remaining = remainingText.toString().trim();
-        if (!remaining.isEmpty()) {
-            parsed.addComponent(new MessageComponent().setContent(remaining));
+        List<Component> inserts = new ArrayList<>(verbatim.size());
+        String source = insertVerbatim(processed, verbatim, inserts);
+        if (inserts.isEmpty()) {
+            return ColorUtil.parseMessageFormats(source);
         }
 
-        return parsed;
+        TagResolver values = TagResolver.resolver(VALUE_TAG, (arguments, ctx) -> {
+            int index = Integer.parseInt(arguments.popOr("Value index expected").value());
+            return Tag.selfClosingInserting(inserts.get(index));
+        });
+        return ColorUtil.parseMessageFormats(source, values);
+    }
+
+    /**
+     * Render compiled chat content
+     * @deprecated Content is rendered like every other component, use {@link #render(MessageText, Player, Placeholder...)}
+     */
+    @Deprecated
+    public Component renderContent(MessageText text, CommandSender sender, Placeholder... placeholders) {
+        return render(text, RenderContext.of(sender, placeholders));
+    }
+
+    /**
+     * Render compiled chat content within a send
+     * @deprecated Content is rendered like every other component, use {@link #render(MessageText, RenderContext)}
+     */
+    @Deprecated
+    public Component renderContent(MessageText text, RenderContext context) {
+        return render(text, context);
     }
 
     public String applyPlaceholders(String text, Player player, Placeholder... placeholders) {
         if (text == null) return "";
 
-        // Apply universal placeholders first
-        UniversalPlaceholderManager universalManager = UniversalPlaceholderManager.getInstance();
-        
-        // Combine universal and specific placeholders
-        Placeholder[] combinedPlaceholders;
-        if (universalManager.hasPlaceholders()) {
-            Placeholder[] universalPlaceholders = player != null ?
-                    universalManager.getAllPlaceholders(player) : 
-                    universalManager.getStaticPlaceholders();
-            
-            // Merge the arrays, with specific placeholders taking precedence
-            combinedPlaceholders = mergePlaceholders(universalPlaceholders, placeholders);
-        } else {
-            combinedPlaceholders = placeholders;
+        return applyPlaceholders(PlaceholderTemplate.compile(text), player, placeholders);
+    }
+
+    public String applyPlaceholders(PlaceholderTemplate template, Player player, Placeholder... placeholders) {
+        return applyPlaceholders(template, RenderContext.of(player, placeholders));
+    }
+
+    /**
+     * Apply placeholders to a template within a send. Values of {@link Placeholder#unparsed(String, String)}
+     * and {@link Placeholder#component(String, net.kyori.adventure.text.ComponentLike)} placeholders are
+     * escaped, so they show as typed once the text is parsed; components are inserted as their plain text.
+     * @param template The template
+     * @param context The send being rendered
+     * @return The processed text
+     */
+    public String applyPlaceholders(PlaceholderTemplate template, RenderContext context) {
+        if (template == null) return "";
+
+        List<Placeholder> verbatim = new ArrayList<>(0);
+        String processed = substitute(template, context, verbatim);
+        return verbatim.isEmpty() ? processed : insertVerbatim(processed, verbatim, null);
+    }
+
+    /**
+     * Fill the slots of a template and resolve PlaceholderAPI. Verbatim values are left as markers,
+     * so neither PlaceholderAPI nor MiniMessage ever reads them.
+     */
+    private String substitute(PlaceholderTemplate template, RenderContext context, List<Placeholder> verbatim) {
+        // Specific placeholders take precedence over the set, and the set over universal ones
+        String processed = template.hasPlaceholders() ?
+                template.renderPlaceholders(context::resolve, (placeholder, builder) -> {
+                    if (placeholder.isVerbatim()) {
+                        builder.append(VALUE_START).append(verbatim.size()).append(VALUE_END);
+                        verbatim.add(placeholder);
+                    } else {
+                        placeholder.appendTo(builder);
+                    }
+                }) :
+                template.getSource();
+
+        Player player = context.getPlayer();
+        return player != null ? applyPapi(player, processed, context) : processed;
+    }
+
+    /**
+     * Replace the markers left by {@link #substitute} with their values. Inside a tag a value is escaped
+     * text, elsewhere it becomes a value tag for the inserted component, or escaped text without inserts.
+     * @param inserts Collects the components of value tags, or null to escape every value
+     */
+    static String insertVerbatim(String text, List<Placeholder> verbatim, List<Component> inserts) {
+        StringBuilder builder = new StringBuilder(text.length() + verbatim.size() * 16);
+        boolean insideTag = false;
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int end = c == VALUE_START ? findMarkerEnd(text, i, verbatim.size()) : -1;
+            if (end >= 0) {
+                Placeholder placeholder = verbatim.get(Integer.parseInt(text, i + 1, end, 10));
+                i = end;
+
+                if (insideTag) {
+                    builder.append(ColorUtil.escapeArgument(placeholder.getValue()));
+                } else if (inserts == null) {
+                    builder.append(ColorUtil.escapeTags(placeholder.getValue()));
+                } else {
+                    builder.append('<').append(VALUE_TAG).append(':').append(inserts.size()).append('>');
+                    inserts.add(placeholder.asComponent());
+                }
+                continue;
+            }
+
+            builder.append(c);
+            if (c == '\\' && i + 1 < text.length() && text.charAt(i + 1) != VALUE_START) {
+                builder.append(text.charAt(++i));
+            } else if (!insideTag) {
+                insideTag = c == '<';
+            } else if (quote != 0) {
+                if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '>') {
+                insideTag = false;
+            }
         }
-        
-        // Apply all placeholders
-        String processed = text;
-        for (Placeholder placeholder : combinedPlaceholders) {
-            processed = processed.replace(
-                    "{" + placeholder.getKey() + "}",
-                    placeholder.getValue()
-            );
+        return builder.toString();
+    }
+
+    /**
+     * @return The index of the end of a value marker starting at the given index, or -1 if it is not one
+     */
+    private static int findMarkerEnd(String text, int start, int count) {
+        int index = 0;
+        for (int i = start + 1; i < text.length() && i - start <= 10; i++) {
+            char c = text.charAt(i);
+            if (c == VALUE_END) {
+                return i > start + 1 && index < count ? i : -1;
+            }
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return -1;
+    }
+
+    /**
+     * Apply placeholders without blocking, resolving PlaceholderAPI placeholders on the thread that owns the player
+     * @param text The text
+     * @param player The player, or null for static universal placeholders only
+     * @param placeholders Specific placeholders, taking precedence over universal ones
+     * @return A future completed with the processed text, on the owning thread if it had to move there
+     */
+    public CompletableFuture<String> applyPlaceholdersAsync(String text, Player player, Placeholder... placeholders) {
+        if (player == null || !HiveChat.isPapiEnabled() || ServerUtil.isEntityInCurrentRegion(player)) {
+            return CompletableFuture.completedFuture(applyPlaceholders(text, player, placeholders));
         }
 
+        CompletableFuture<String> future = new CompletableFuture<>();
+        ServerUtil.runAtEntity(player,
+                p -> future.complete(applyPlaceholders(text, p, placeholders)),
+                // The player left before the task ran, there is nobody to resolve PlaceholderAPI for
+                () -> future.complete(applyPlaceholders(text, null, placeholders)));
+        return future;
+    }
+
+    private String applyPapi(Player player, String text, RenderContext context) {
         // Apply PlaceholderAPI if available
-        if (HiveChat.isPapiEnabled() && player != null && PlaceholderAPI.containsPlaceholders(processed)) {
-            if (Bukkit.isPrimaryThread()) {
-                processed = PlaceholderAPI.setPlaceholders(player, processed);
-            } else {
-                CompletableFuture<String> future = new CompletableFuture<>();
-                String finalProcessed = processed;
-                
-                ServerUtil.runTask(() ->
-                    future.complete(PlaceholderAPI.setPlaceholders(player, finalProcessed))
-                );
-                
+        if (!HiveChat.isPapiEnabled() || !PapiResolver.containsTokens(text)) {
+            return text;
+        }
+
+        if (ServerUtil.isEntityInCurrentRegion(player)) {
+            return papiResolver.resolve(player, text, context.getPapiValues());
+        }
+
+        // Never park this thread waiting for the owning one, sends hop there before rendering instead
+        if (offThreadPapiWarned.compareAndSet(false, true)) {
+            plugin.getLogger().warning("PlaceholderAPI placeholders were rendered off the thread owning the player "
+                    + "and left unresolved, use applyPlaceholdersAsync or send the message instead");
+        }
+        return text;
+    }
+
+    /**
+     * @return The resolver of PlaceholderAPI tokens, with its per-identifier cache statistics
+     */
+    public PapiResolver getPapiResolver() {
+        return papiResolver;
+    }
+
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * Set how placeholders are rendered, {@link RenderMode#COMPONENT} by default
+     * @param renderMode The render mode
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        this.renderMode = renderMode != null ? renderMode : RenderMode.COMPONENT;
+    }
+
+    /**
+     * Get a snapshot of the parse cache counters, to size the cache from real traffic
+     * @return The current cache statistics
+     */
+    public ParseCacheStats getCacheStats() {
+        CacheStats stats = messageCache.stats();
+        return new ParseCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                loadCount.sum(), totalLoadTime.sum(), messageCache.size(), cacheWeight.sum());
+    }
+
+    /**
+     * Compile a message and pin it under a key. Pinned messages are kept apart from the parse cache:
+     * they never expire, are never evicted and are looked up without locking.
+     * @param key The message key
+     * @param message The raw message
+     * @return A future completed with the compiled message once it is pinned
+     */
+    public CompletableFuture<ParsedMessage> pinMessage(String key, String message) {
+        String source = message != null ? message : "";
+        pendingPins.put(key, source);
+        return compileAsync(source).thenApply(parsed -> {
+            // A newer message may have been saved, or the key unpinned, while this one was compiling
+            synchronized (pinLock) {
+                if (pendingPins.remove(key, source)) {
+                    pinMessage(key, parsed);
+                }
+            }
+            return parsed;
+        });
+    }
+
+    /**
+     * Compile a set of messages in parallel on the fork-join pool and pin them all at once.
+     * Lookups see either none or all of the set, never a partially compiled one.
+     * @param messages The raw messages by key
+     * @return A future completed with the compile report once every message is pinned
+     */
+    public CompletableFuture<CompileReport> pinMessagesAsync(Map<String, String> messages) {
+        long start = System.nanoTime();
+        Map<String, String> sources = new HashMap<>(messages.size());
+        messages.forEach((key, message) -> sources.put(key, message != null ? message : ""));
+        pendingPins.putAll(sources);
+
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, ParsedMessage> compiled = new ConcurrentHashMap<>(sources.size());
+            Map<String, String> failures = new ConcurrentHashMap<>();
+
+            sources.entrySet().parallelStream().forEach(entry -> {
                 try {
-                    processed = future.get(100, TimeUnit.MILLISECONDS);
-                } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                    plugin.getLogger().warning("Failed to process PlaceholderAPI placeholders: " + e.getMessage());
+                    compiled.put(entry.getKey(), entry.getValue().isEmpty() ?
+                            ParsedMessage.EMPTY : parseMessage(entry.getValue()));
+                } catch (Exception e) {
+                    failures.put(entry.getKey(), String.valueOf(e.getMessage()));
                 }
+            });
+
+            synchronized (pinLock) {
+                Map<String, ParsedMessage> updated = new HashMap<>(pinnedMessages);
+                compiled.forEach((key, parsed) -> {
+                    // A newer message may have been saved under the same key while the set was compiling
+                    if (pendingPins.remove(key, sources.get(key))) {
+                        updated.put(key, parsed);
+                    }
+                });
+                failures.keySet().forEach(key -> pendingPins.remove(key, sources.get(key)));
+                pinnedMessages = updated;
             }
+
+            failures.forEach((key, error) ->
+                    plugin.getLogger().warning("Error compiling message " + key + ": " + error));
+
+            return new CompileReport(compiled.size(), failures, System.nanoTime() - start);
+        }, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Pin a compiled message under a key
+     * @param key The message key
+     * @param message The compiled message
+     */
+    public void pinMessage(String key, ParsedMessage message) {
+        synchronized (pinLock) {
+            Map<String, ParsedMessage> updated = new HashMap<>(pinnedMessages);
+            updated.put(key, message);
+            pinnedMessages = updated;
         }
+    }
 
-        return processed;
+    /**
+     * Remove a pinned message
+     * @param key The message key
+     */
+    public void unpinMessage(String key) {
+        synchronized (pinLock) {
+            pendingPins.remove(key);
+            if (!pinnedMessages.containsKey(key)) return;
+
+            Map<String, ParsedMessage> updated = new HashMap<>(pinnedMessages);
+            updated.remove(key);
+            pinnedMessages = updated;
+        }
     }
-    
+
     /**
-     * Merge placeholder arrays, with specific placeholders overriding universal ones
-     * @param universalPlaceholders Universal placeholders
-     * @param specificPlaceholders Specific placeholders
-     * @return Merged array with specific placeholders taking precedence
+     * Remove several pinned messages at once
+     * @param keys The message keys
      */
-    private Placeholder[] mergePlaceholders(Placeholder[] universalPlaceholders, Placeholder[] specificPlaceholders) {
-        if (universalPlaceholders == null || universalPlaceholders.length == 0) {
-            return specificPlaceholders;
+    public void unpinMessages(Collection<String> keys) {
+        synchronized (pinLock) {
+            Map<String, ParsedMessage> updated = new HashMap<>(pinnedMessages);
+            for (String key : keys) {
+                pendingPins.remove(key);
+                updated.remove(key);
+            }
+            pinnedMessages = updated;
         }
-        
-        if (specificPlaceholders == null || specificPlaceholders.length == 0) {
-            return universalPlaceholders;
+    }
+
+    /**
+     * Remove every pinned message
+     */
+    public void clearPinnedMessages() {
+        synchronized (pinLock) {
+            pendingPins.clear();
+            pinnedMessages = Map.of();
         }
-        
-        // Create a new array with enough space for all placeholders
-        Placeholder[] result = Arrays.copyOf(universalPlaceholders, universalPlaceholders.length + specificPlaceholders.length);
-        
-        // Copy specific placeholders, which will override universal ones
-        System.arraycopy(specificPlaceholders, 0, result, universalPlaceholders.length, specificPlaceholders.length);
-        
-        return result;
     }
 
+    /**
+     * @param key The message key
+     * @return The pinned message, or null if nothing is pinned under the key yet
+     */
+    public ParsedMessage getPinnedMessage(String key) {
+        return pinnedMessages.get(key);
+    }
+
+    /**
+     * @return The number of pinned messages
+     */
+    public int getPinnedCount() {
+        return pinnedMessages.size();
+    }
+
+    /**
+     * @deprecated Saved messages are pinned, use {@link #pinMessage(String, ParsedMessage)}
+     */
+    @Deprecated
     public void cacheMessage(String key, ParsedMessage message) {
-        messageCache.put(key, message);
+        pinMessage(key, message);
     }
 
+    /**
+     * @deprecated Saved messages are pinned, use {@link #getPinnedMessage(String)}
+     */
+    @Deprecated
     public ParsedMessage getCachedMessage(String key) {
-        return messageCache.getIfPresent(key);
+        return getPinnedMessage(key);
     }
-}
\ No newline at end of file
+}
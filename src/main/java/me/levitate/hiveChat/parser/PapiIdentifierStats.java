@@ -0,0 +1,19 @@
+package me.levitate.hiveChat.parser;
+
+/**
+ * Counters of the PlaceholderAPI results of one expansion identifier
+ *
+ * @param identifier The expansion identifier
+ * @param hitCount   Tokens answered from the result cache
+ * @param missCount  Tokens sent to PlaceholderAPI
+ */
+public record PapiIdentifierStats(String identifier, long hitCount, long missCount) {
+
+    /**
+     * @return The ratio of hits to lookups, or 0 if there were no lookups
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,215 @@
+package me.levitate.hiveChat.parser;
+
+import me.clip.placeholderapi.PlaceholderAPI;
+import me.levitate.hiveChat.HiveChatSettings;
+import me.levitate.hiveChat.cache.PapiResultCache;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves PlaceholderAPI tokens one at a time, so each %identifier_params% token can be answered
+ * from a per-player cache with its own time to live and only expired tokens reach PlaceholderAPI
+ */
+public class PapiResolver {
+    private static final String[] NO_TOKENS = new String[0];
+
+    private final PapiResultCache resultCache;
+    private final long defaultTtlNanos;
+    private final Map<String, Long> identifierTtlNanos = new ConcurrentHashMap<>();
+    private final Map<String, Counters> stats = new ConcurrentHashMap<>();
+
+    public PapiResolver(Plugin plugin, HiveChatSettings settings) {
+        this.resultCache = new PapiResultCache(plugin);
+        this.defaultTtlNanos = settings.getPapiCacheTtl().toNanos();
+        settings.getPapiIdentifierTtls().forEach((identifier, ttl) -> identifierTtlNanos.put(identifier, ttl.toNanos()));
+    }
+
+    /**
+     * Extract the distinct PlaceholderAPI tokens of a text
+     * @param text The text
+     * @return The %tokens% in order of appearance
+     */
+    public static String[] extractTokens(String text) {
+        int open = text.indexOf('%');
+        if (open < 0) return NO_TOKENS;
+
+        Set<String> tokens = new LinkedHashSet<>();
+        while (open >= 0) {
+            int close = findTokenEnd(text, open);
+            if (close < 0) {
+                open = text.indexOf('%', open + 1);
+                continue;
+            }
+
+            tokens.add(text.substring(open, close + 1));
+            open = text.indexOf('%', close + 1);
+        }
+        return tokens.toArray(NO_TOKENS);
+    }
+
+    /**
+     * @param text The text
+     * @return true if the text contains at least one PlaceholderAPI token
+     */
+    public static boolean containsTokens(String text) {
+        int open = text.indexOf('%');
+        while (open >= 0) {
+            if (findTokenEnd(text, open) >= 0) return true;
+            open = text.indexOf('%', open + 1);
+        }
+        return false;
+    }
+
+    /**
+     * A token is %identifier_params% with no whitespace, the form PlaceholderAPI expansions use
+     * @return The index of the closing % of a token opened at the given index, or -1
+     */
+    private static int findTokenEnd(String text, int open) {
+        boolean separator = false;
+        for (int i = open + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%') {
+                return separator ? i : -1;
+            }
+            if (Character.isWhitespace(c)) {
+                return -1;
+            }
+            if (c == '_' && i > open + 1) {
+                separator = true;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resolve every PlaceholderAPI token of a text. Must run on the thread that owns the player.
+     * @param player The player
+     * @param text The text
+     * @return The resolved text, or the same instance if it has no tokens
+     */
+    public String resolve(Player player, String text) {
+        return resolve(player, text, null);
+    }
+
+    /**
+     * Resolve every PlaceholderAPI token of a text. Must run on the thread that owns the player.
+     * @param player The player
+     * @param text The text
+     * @param memo Results already resolved for this player during the current send, filled with new ones, may be null
+     * @return The resolved text, or the same instance if it has no tokens
+     */
+    public String resolve(Player player, String text, Map<String, String> memo) {
+        int open = text.indexOf('%');
+        if (open < 0) return text;
+
+        StringBuilder builder = null;
+        int copied = 0;
+        while (open >= 0) {
+            int close = findTokenEnd(text, open);
+            if (close < 0) {
+                open = text.indexOf('%', open + 1);
+                continue;
+            }
+
+            String token = text.substring(open, close + 1);
+            String value = memo != null ? memo.get(token) : null;
+            if (value == null) {
+                value = resolveToken(player, token);
+                if (memo != null) {
+                    memo.put(token, value);
+                }
+            }
+            if (!value.equals(token)) {
+                if (builder == null) {
+                    builder = new StringBuilder(text.length() + 16);
+                }
+                builder.append(text, copied, open).append(value);
+                copied = close + 1;
+            }
+            open = text.indexOf('%', close + 1);
+        }
+
+        if (builder == null) return text;
+
+        builder.append(text, copied, text.length());
+        return builder.toString();
+    }
+
+    private String resolveToken(Player player, String token) {
+        String identifier = token.substring(1, token.indexOf('_')).toLowerCase(Locale.ROOT);
+        // PlaceholderAPI leaves unknown tokens as they are, and player supplied text must not grow the stats
+        if (!PlaceholderAPI.isRegistered(identifier)) {
+            return token;
+        }
+
+        Counters counters = stats.computeIfAbsent(identifier, id -> new Counters());
+        long ttlNanos = identifierTtlNanos.getOrDefault(identifier, defaultTtlNanos);
+
+        if (ttlNanos > 0) {
+            String cached = resultCache.get(player, token);
+            if (cached != null) {
+                counters.hits.increment();
+                return cached;
+            }
+        }
+
+        counters.misses.increment();
+        String value = PlaceholderAPI.setPlaceholders(player, token);
+        if (value == null) {
+            value = token;
+        }
+        if (ttlNanos > 0) {
+            resultCache.put(player, token, value, ttlNanos);
+        }
+        return value;
+    }
+
+    /**
+     * Set how long the results of one expansion are reused for the same player
+     * @param identifier The expansion identifier
+     * @param ttl The time to live, zero to never cache this identifier
+     */
+    public void setTtl(String identifier, Duration ttl) {
+        identifierTtlNanos.put(identifier.toLowerCase(Locale.ROOT), ttl.toNanos());
+    }
+
+    /**
+     * Invalidate every cached result of a player, so the next send asks PlaceholderAPI again
+     * @param player The player
+     */
+    public void invalidate(Player player) {
+        resultCache.invalidate(player);
+    }
+
+    /**
+     * Release cached results of players who quit and results that expired
+     */
+    public void cleanup() {
+        resultCache.cleanup();
+    }
+
+    /**
+     * @return The hit and miss counters of every identifier seen so far
+     */
+    public List<PapiIdentifierStats> getStats() {
+        List<PapiIdentifierStats> snapshot = new ArrayList<>(stats.size());
+        stats.forEach((identifier, counters) ->
+                snapshot.add(new PapiIdentifierStats(identifier, counters.hits.sum(), counters.misses.sum())));
+        return snapshot;
+    }
+
+    private static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+}
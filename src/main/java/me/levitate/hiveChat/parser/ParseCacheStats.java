@@ -0,0 +1,31 @@
+package me.levitate.hiveChat.parser;
+
+/**
+ * A snapshot of the parse cache counters
+ *
+ * @param hitCount           Lookups answered from the cache
+ * @param missCount          Lookups that had to parse the template
+ * @param evictionCount      Entries removed because of the weight bound or expiry
+ * @param loadCount          Templates parsed
+ * @param totalLoadTimeNanos Total time spent parsing templates
+ * @param size               Entries currently cached
+ * @param weightedSize       Total weight of the cached entries
+ */
+public record ParseCacheStats(long hitCount, long missCount, long evictionCount, long loadCount,
+                              long totalLoadTimeNanos, long size, long weightedSize) {
+
+    /**
+     * @return The ratio of hits to lookups, or 1 if there were no lookups
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return The average time spent parsing a template, in nanoseconds
+     */
+    public double averageLoadPenaltyNanos() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTimeNanos / loadCount;
+    }
+}
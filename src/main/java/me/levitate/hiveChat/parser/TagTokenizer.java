@@ -0,0 +1,305 @@
+package me.levitate.hiveChat.parser;
+
+import me.levitate.hiveChat.message.*;
+import org.bukkit.Sound;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Single-pass scanner for the HiveChat tags (title, sound, actionbar and bossbar).
+ * The message is walked once; every recognised tag becomes a component in source order
+ * and everything else is collected as the plain content of the message.
+ */
+public class TagTokenizer {
+    private static final String TITLE_OPEN = "<title";
+    private static final String TITLE_CLOSE = "</title>";
+    private static final String SOUND_OPEN = "<sound:";
+    private static final String ACTIONBAR_OPEN = "<actionbar";
+    private static final String ACTIONBAR_CLOSE = "</actionbar>";
+    private static final String BOSSBAR_OPEN = "<bossbar:";
+    private static final String BOSSBAR_CLOSE = "</bossbar>";
+
+    private final Logger logger;
+
+    public TagTokenizer(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Tokenize a raw message into its components
+     * @param message The raw message
+     * @return The parsed message, tag components in source order followed by the remaining content
+     */
+    public ParsedMessage tokenize(String message) {
+        List<MessageComponent> parsed = new ArrayList<>();
+        int length = message.length();
+        StringBuilder content = new StringBuilder(length);
+
+        int literalStart = 0;
+        int index = message.indexOf('<');
+        while (index >= 0) {
+            int end = readTag(message, index, parsed);
+            if (end < 0) {
+                // Not one of our tags, leave it for MiniMessage
+                index = message.indexOf('<', index + 1);
+                continue;
+            }
+
+            content.append(message, literalStart, index);
+            literalStart = end;
+            index = message.indexOf('<', end);
+        }
+        content.append(message, literalStart, length);
+
+        // Add remaining text as content if any
+        String remaining = content.toString().trim();
+        if (!remaining.isEmpty()) {
+            parsed.add(MessageComponent.content(remaining));
+        }
+
+        return new ParsedMessage(parsed);
+    }
+
+    /**
+     * Try to read a HiveChat tag starting at the given index
+     * @return The index just after the tag, or -1 if there is no valid tag here
+     */
+    private int readTag(String message, int start, List<MessageComponent> parsed) {
+        if (start + 1 >= message.length()) return -1;
+
+        return switch (message.charAt(start + 1)) {
+            case 't' -> readTitle(message, start, parsed);
+            case 's' -> readSound(message, start, parsed);
+            case 'a' -> readActionBar(message, start, parsed);
+            case 'b' -> readBossBar(message, start, parsed);
+            default -> -1;
+        };
+    }
+
+    // <title[:fadeIn:stay:fadeOut]>title|subtitle</title>
+    private int readTitle(String message, int start, List<MessageComponent> parsed) {
+        if (!message.startsWith(TITLE_OPEN, start)) return -1;
+
+        int cursor = start + TITLE_OPEN.length();
+        int[] times = {TitleComponent.DEFAULT_FADE_IN, TitleComponent.DEFAULT_STAY, TitleComponent.DEFAULT_FADE_OUT};
+        if (cursor < message.length() && message.charAt(cursor) == ':') {
+            for (int i = 0; i < times.length; i++) {
+                int digitsEnd = scanDigits(message, cursor + 1);
+                if (digitsEnd < 0) return -1;
+
+                char expected = i < times.length - 1 ? ':' : '>';
+                if (digitsEnd >= message.length() || message.charAt(digitsEnd) != expected) return -1;
+
+                Integer value = parseInt(message, cursor + 1, digitsEnd);
+                if (value == null) {
+                    return invalid("Invalid title format at: ", message, start, TITLE_CLOSE);
+                }
+                times[i] = value;
+                cursor = digitsEnd;
+            }
+        }
+
+        if (cursor >= message.length() || message.charAt(cursor) != '>') return -1;
+
+        int bodyStart = cursor + 1;
+        int separator = message.indexOf('|', bodyStart);
+        if (separator < 0) return -1;
+
+        int close = message.indexOf(TITLE_CLOSE, separator + 1);
+        if (close < 0) return -1;
+
+        TitleComponent titleComponent = TitleComponent.of(
+                message.substring(bodyStart, separator).trim(),
+                message.substring(separator + 1, close).trim(),
+                times[0], times[1], times[2]);
+
+        parsed.add(MessageComponent.title(titleComponent));
+
+        return close + TITLE_CLOSE.length();
+    }
+
+    // <sound:NAME[:volume[:pitch]]>
+    private int readSound(String message, int start, List<MessageComponent> parsed) {
+        if (!message.startsWith(SOUND_OPEN, start)) return -1;
+
+        int nameStart = start + SOUND_OPEN.length();
+        int cursor = nameStart;
+        while (cursor < message.length() && isSoundNameChar(message.charAt(cursor))) {
+            cursor++;
+        }
+        if (cursor == nameStart) return -1;
+        int nameEnd = cursor;
+
+        int volumeStart = -1, volumeEnd = -1, pitchStart = -1, pitchEnd = -1;
+        if (cursor < message.length() && message.charAt(cursor) == ':') {
+            volumeStart = cursor + 1;
+            volumeEnd = scanDecimal(message, volumeStart);
+            if (volumeEnd < 0) return -1;
+            cursor = volumeEnd;
+
+            if (cursor < message.length() && message.charAt(cursor) == ':') {
+                cursor++;
+            }
+
+            int end = scanDecimal(message, cursor);
+            if (end >= 0) {
+                pitchStart = cursor;
+                pitchEnd = end;
+                cursor = end;
+            }
+        }
+
+        if (cursor >= message.length() || message.charAt(cursor) != '>') return -1;
+
+        String name = message.substring(nameStart, nameEnd);
+        try {
+            Sound sound = Sound.valueOf(name.toUpperCase());
+            float volume = volumeStart >= 0 ?
+                    Float.parseFloat(message.substring(volumeStart, volumeEnd)) : 1.0f;
+            float pitch = pitchStart >= 0 ?
+                    Float.parseFloat(message.substring(pitchStart, pitchEnd)) : 1.0f;
+
+            parsed.add(MessageComponent.sound(sound, volume, pitch));
+        } catch (Exception e) {
+            logger.warning("Invalid sound format: " + name);
+            return -1;
+        }
+
+        return cursor + 1;
+    }
+
+    // <actionbar[:duration]>content</actionbar>
+    private int readActionBar(String message, int start, List<MessageComponent> parsed) {
+        if (!message.startsWith(ACTIONBAR_OPEN, start)) return -1;
+
+        int cursor = start + ACTIONBAR_OPEN.length();
+        int duration = ActionBar.DEFAULT_DURATION;
+        if (cursor < message.length() && message.charAt(cursor) == ':') {
+            int digitsEnd = scanDigits(message, cursor + 1);
+            if (digitsEnd < 0) return -1;
+
+            Integer value = parseInt(message, cursor + 1, digitsEnd);
+            if (value == null) {
+                return invalid("Invalid action bar format at: ", message, start, ACTIONBAR_CLOSE);
+            }
+            duration = value;
+            cursor = digitsEnd;
+        }
+
+        if (cursor >= message.length() || message.charAt(cursor) != '>') return -1;
+
+        int close = message.indexOf(ACTIONBAR_CLOSE, cursor + 1);
+        if (close < 0) return -1;
+
+        ActionBar actionBar = ActionBar.of(message.substring(cursor + 1, close), duration);
+
+        parsed.add(MessageComponent.actionBar(actionBar));
+
+        return close + ACTIONBAR_CLOSE.length();
+    }
+
+    // <bossbar:COLOR:STYLE:progress[:duration]>content</bossbar>
+    private int readBossBar(String message, int start, List<MessageComponent> parsed) {
+        if (!message.startsWith(BOSSBAR_OPEN, start)) return -1;
+
+        int colorStart = start + BOSSBAR_OPEN.length();
+        int colorEnd = message.indexOf(':', colorStart);
+        if (colorEnd <= colorStart) return -1;
+
+        int styleStart = colorEnd + 1;
+        int styleEnd = message.indexOf(':', styleStart);
+        if (styleEnd <= styleStart) return -1;
+
+        int progressStart = styleEnd + 1;
+        int cursor = progressStart;
+        while (cursor < message.length() && message.charAt(cursor) != ':' && message.charAt(cursor) != '>') {
+            cursor++;
+        }
+        if (cursor == progressStart || cursor >= message.length()) return -1;
+        int progressEnd = cursor;
+
+        int durationStart = -1, durationEnd = -1;
+        if (message.charAt(cursor) == ':') {
+            durationStart = cursor + 1;
+            durationEnd = scanDigits(message, durationStart);
+            if (durationEnd < 0) return -1;
+            cursor = durationEnd;
+        }
+
+        if (cursor >= message.length() || message.charAt(cursor) != '>') return -1;
+
+        int close = message.indexOf(BOSSBAR_CLOSE, cursor + 1);
+        if (close < 0) return -1;
+
+        try {
+            BarColor color = BarColor.valueOf(message.substring(colorStart, colorEnd).toUpperCase());
+            BarStyle style = BarStyle.valueOf(message.substring(styleStart, styleEnd).toUpperCase());
+            double progress = Double.parseDouble(message.substring(progressStart, progressEnd));
+            int duration = durationStart >= 0 ?
+                    Integer.parseInt(message.substring(durationStart, durationEnd)) : BossBarComponent.DEFAULT_DURATION;
+
+            BossBarComponent bossBar = BossBarComponent.of(
+                    message.substring(cursor + 1, close), color, style, progress, duration);
+
+            parsed.add(MessageComponent.bossBar(bossBar));
+        } catch (Exception e) {
+            logger.warning("Invalid boss bar format at: " + message.substring(start, close + BOSSBAR_CLOSE.length()));
+            return -1;
+        }
+
+        return close + BOSSBAR_CLOSE.length();
+    }
+
+    /**
+     * Log a tag that is well formed but holds an unusable value, leaving it in the content
+     */
+    private int invalid(String reason, String message, int start, String closeTag) {
+        int close = message.indexOf(closeTag, start);
+        int end = close < 0 ? message.length() : close + closeTag.length();
+        logger.warning(reason + message.substring(start, end));
+        return -1;
+    }
+
+    private static boolean isSoundNameChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * @return The index after a run of digits starting at the given index, or -1 if there are none
+     */
+    private static int scanDigits(String message, int start) {
+        int cursor = start;
+        while (cursor < message.length() && message.charAt(cursor) >= '0' && message.charAt(cursor) <= '9') {
+            cursor++;
+        }
+        return cursor == start ? -1 : cursor;
+    }
+
+    /**
+     * @return The index after a number of the form 1 or 1.5 starting at the given index, or -1
+     */
+    private static int scanDecimal(String message, int start) {
+        int end = scanDigits(message, start);
+        if (end < 0) return -1;
+
+        if (end < message.length() && message.charAt(end) == '.') {
+            int fractionEnd = scanDigits(message, end + 1);
+            if (fractionEnd >= 0) {
+                return fractionEnd;
+            }
+        }
+        return end;
+    }
+
+    private static Integer parseInt(String message, int start, int end) {
+        try {
+            return Integer.parseInt(message, start, end, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
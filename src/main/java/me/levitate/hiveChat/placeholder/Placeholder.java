@@ -1,45 +1,227 @@
 package me.levitate.hiveChat.placeholder;
 
+import me.levitate.hiveChat.util.ColorUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class Placeholder {
+    private enum Kind { TEXT, INTEGER, DECIMAL, LAZY }
+
     private final String key;
     private final String value;
+    private final boolean parsed;
+    private final Kind kind;
+    // Primitive values are kept unboxed and appended to the output without a String in between
+    private final long integer;
+    private final double decimal;
+    private final Supplier<?> supplier;
+    private volatile Component component;
+
+    private Placeholder(String key, String value, boolean parsed, Component component) {
+        this(key, value != null ? value : "", parsed, Kind.TEXT, 0L, 0.0, null, component);
+    }
 
-    private Placeholder(String key, String value) {
+    private Placeholder(String key, String value, boolean parsed, Kind kind, long integer, double decimal,
+                        Supplier<?> supplier, Component component) {
         this.key = key;
-        this.value = value != null ? value : "";
+        this.value = value;
+        this.parsed = parsed;
+        this.kind = kind;
+        this.integer = integer;
+        this.decimal = decimal;
+        this.supplier = supplier;
+        this.component = component;
     }
 
-    public static Placeholder of(String key, String value) {
+    private static void checkKey(String key) {
         if (key == null || key.isEmpty()) {
             throw new IllegalArgumentException("Placeholder key cannot be null or empty");
         }
-        return new Placeholder(key, value);
+    }
+
+    /**
+     * Create a placeholder whose value may contain MiniMessage formatting
+     */
+    public static Placeholder of(String key, String value) {
+        checkKey(key);
+        return new Placeholder(key, value, true, null);
+    }
+
+    /**
+     * Create a placeholder whose value is inserted as plain text, so tags in it are shown rather than parsed.
+     * Use this for anything a player can type.
+     */
+    public static Placeholder unparsed(String key, String value) {
+        checkKey(key);
+        return new Placeholder(key, value, false, null);
+    }
+
+    /**
+     * Create a placeholder that inserts a ready-made component.
+     * A slot inside a MiniMessage tag, such as {@code <hover:show_text:'{key}'>}, can only take text,
+     * so there the component is inserted as its plain text.
+     */
+    public static Placeholder component(String key, ComponentLike value) {
+        checkKey(key);
+        Component component = value != null ? value.asComponent() : Component.empty();
+        return new Placeholder(key, ColorUtil.plainText(component), false, component);
+    }
+
+    /**
+     * Create a placeholder whose value is only computed when a template being rendered references its key,
+     * at most once per render. The value may contain MiniMessage formatting.
+     * @param key The placeholder key
+     * @param supplier Computes the value, a null result inserts nothing
+     * @return The placeholder
+     */
+    public static Placeholder lazy(String key, Supplier<?> supplier) {
+        checkKey(key);
+        if (supplier == null) {
+            throw new IllegalArgumentException("Value supplier cannot be null");
+        }
+        return new Placeholder(key, null, true, Kind.LAZY, 0L, 0.0, supplier, null);
     }
 
     public static Placeholder of(String key, int value) {
-        return of(key, String.valueOf(value));
+        return of(key, (long) value);
+    }
+
+    public static Placeholder of(String key, long value) {
+        checkKey(key);
+        return new Placeholder(key, null, false, Kind.INTEGER, value, 0.0, null, null);
     }
 
     public static Placeholder of(String key, double value) {
-        return of(key, String.valueOf(value));
+        checkKey(key);
+        return new Placeholder(key, null, false, Kind.DECIMAL, 0L, value, null, null);
     }
 
     public static Placeholder of(String key, boolean value) {
-        return of(key, String.valueOf(value));
+        return unparsed(key, String.valueOf(value));
     }
 
     public static Placeholder of(String key, Object value) {
         return of(key, value != null ? value.toString() : "");
     }
 
+    /**
+     * Find a placeholder by key
+     * @param key The placeholder key
+     * @param placeholders Placeholders to search, may be null
+     * @return The first placeholder with the key, or null if there is none
+     */
+    public static Placeholder find(String key, Placeholder[] placeholders) {
+        if (placeholders == null) return null;
+
+        for (Placeholder placeholder : placeholders) {
+            if (placeholder.getKey().equals(key)) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the value of a placeholder key
+     * @param key The placeholder key
+     * @param placeholders Placeholders to search, may be null
+     * @return The value of the first placeholder with the key, or null if there is none
+     */
+    public static String findValue(String key, Placeholder[] placeholders) {
+        Placeholder placeholder = find(key, placeholders);
+        return placeholder != null ? placeholder.getValue() : null;
+    }
+
     public String getKey() {
         return key;
     }
 
+    /**
+     * Get the value as text. Lazy placeholders compute their value on every call,
+     * renders go through {@link #evaluate()} once instead.
+     * @return The value
+     */
     public String getValue() {
-        return value;
+        return switch (kind) {
+            case TEXT -> value;
+            case INTEGER -> Long.toString(integer);
+            case DECIMAL -> Double.toString(decimal);
+            case LAZY -> computeLazyValue();
+        };
+    }
+
+    private String computeLazyValue() {
+        Object result = supplier.get();
+        return result != null ? result.toString() : "";
+    }
+
+    /**
+     * Append the value to a buffer, without an intermediate String for primitive values
+     * @param builder The buffer
+     */
+    public void appendTo(StringBuilder builder) {
+        switch (kind) {
+            case INTEGER -> builder.append(integer);
+            case DECIMAL -> builder.append(decimal);
+            default -> builder.append(getValue());
+        }
+    }
+
+    /**
+     * @return The length of the value for text placeholders, otherwise a guess for sizing buffers
+     */
+    public int estimateLength() {
+        return kind == Kind.TEXT ? value.length() : 20;
+    }
+
+    /**
+     * @return true if the value is computed by a supplier when the placeholder is rendered
+     */
+    public boolean isLazy() {
+        return kind == Kind.LAZY;
+    }
+
+    /**
+     * Compute the value of a lazy placeholder, so it can be inserted any number of times in one render
+     * @return A placeholder holding the computed value, or this placeholder if it is not lazy
+     */
+    public Placeholder evaluate() {
+        return kind == Kind.LAZY ? new Placeholder(key, computeLazyValue(), parsed, null) : this;
+    }
+
+    /**
+     * @return true if the value is text that must be inserted as is, never read as MiniMessage tags or
+     * PlaceholderAPI placeholders, as for {@link #unparsed(String, String)} and {@link #component(String, ComponentLike)}
+     */
+    public boolean isVerbatim() {
+        return !parsed && kind == Kind.TEXT;
+    }
+
+    /**
+     * @return true if the value is parsed as MiniMessage when inserted into a component
+     */
+    public boolean isParsed() {
+        return parsed;
+    }
+
+    /**
+     * Get the value as a component, parsing it at most once
+     * @return The component to insert for this placeholder
+     */
+    public Component asComponent() {
+        if (kind == Kind.LAZY) {
+            return evaluate().asComponent();
+        }
+
+        Component result = component;
+        if (result == null) {
+            result = parsed ? ColorUtil.parseMessageFormats(value) : Component.text(getValue());
+            component = result;
+        }
+        return result;
     }
 
     @Override
@@ -47,13 +229,18 @@ public class Placeholder {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Placeholder that = (Placeholder) o;
-        return Objects.equals(key, that.key) &&
-                Objects.equals(value, that.value);
+        return parsed == that.parsed &&
+                kind == that.kind &&
+                integer == that.integer &&
+                Double.compare(decimal, that.decimal) == 0 &&
+                Objects.equals(key, that.key) &&
+                Objects.equals(value, that.value) &&
+                Objects.equals(supplier, that.supplier);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(key, value);
+        return Objects.hash(key, value, parsed, kind, integer, decimal, supplier);
     }
 
     @Override
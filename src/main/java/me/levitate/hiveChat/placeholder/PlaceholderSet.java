@@ -0,0 +1,97 @@
+package me.levitate.hiveChat.placeholder;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable set of placeholders with hashed key lookup, built once and reused across many sends.
+ * When rendering, call-site placeholders take precedence over a set, and a set over universal placeholders.
+ */
+public final class PlaceholderSet {
+    public static final PlaceholderSet EMPTY = new PlaceholderSet(Map.of());
+
+    private final Map<String, Placeholder> placeholders;
+
+    private PlaceholderSet(Map<String, Placeholder> placeholders) {
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Create a set from placeholders, a later placeholder replacing an earlier one with the same key
+     * @param placeholders The placeholders
+     * @return The set
+     */
+    public static PlaceholderSet of(Placeholder... placeholders) {
+        if (placeholders == null || placeholders.length == 0) return EMPTY;
+        return builder().add(placeholders).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new set with additional placeholders, which replace those of this set with the same key
+     * @param overrides The additional placeholders
+     * @return The new set
+     */
+    public PlaceholderSet with(Placeholder... overrides) {
+        if (overrides == null || overrides.length == 0) return this;
+        return builder().addAll(this).add(overrides).build();
+    }
+
+    /**
+     * @param key The placeholder key
+     * @return The placeholder, or null if the set has none with this key
+     */
+    public Placeholder get(String key) {
+        return placeholders.get(key);
+    }
+
+    public boolean contains(String key) {
+        return placeholders.containsKey(key);
+    }
+
+    public Collection<Placeholder> getPlaceholders() {
+        return placeholders.values();
+    }
+
+    public int size() {
+        return placeholders.size();
+    }
+
+    public boolean isEmpty() {
+        return placeholders.isEmpty();
+    }
+
+    public static final class Builder {
+        private final Map<String, Placeholder> placeholders = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        public Builder add(Placeholder... placeholders) {
+            for (Placeholder placeholder : placeholders) {
+                if (placeholder != null) {
+                    this.placeholders.put(placeholder.getKey(), placeholder);
+                }
+            }
+            return this;
+        }
+
+        public Builder add(String key, String value) {
+            return add(Placeholder.of(key, value));
+        }
+
+        public Builder addAll(PlaceholderSet set) {
+            if (set != null) {
+                set.getPlaceholders().forEach(this::add);
+            }
+            return this;
+        }
+
+        public PlaceholderSet build() {
+            return placeholders.isEmpty() ? EMPTY : new PlaceholderSet(Map.copyOf(placeholders));
+        }
+    }
+}
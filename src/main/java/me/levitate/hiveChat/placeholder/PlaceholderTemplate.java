@@ -0,0 +1,219 @@
+package me.levitate.hiveChat.placeholder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Text compiled once into literal segments and {key} placeholder slots,
+ * so substitution is a single pass into one pre-sized buffer
+ */
+public final class PlaceholderTemplate {
+    private static final String[] NO_KEYS = new String[0];
+
+    private final String source;
+    // literals[i] precedes keys[i]; the last literal follows the last slot
+    private final String[] literals;
+    private final String[] keys;
+    private final Set<String> keySet;
+    private final int literalLength;
+
+    private PlaceholderTemplate(String source, String[] literals, String[] keys) {
+        this.source = source;
+        this.literals = literals;
+        this.keys = keys;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+
+        Set<String> distinct = new LinkedHashSet<>();
+        Collections.addAll(distinct, keys);
+        this.keySet = Collections.unmodifiableSet(distinct);
+    }
+
+    /**
+     * Compile text into a template
+     * @param text The raw text
+     * @return The compiled template
+     */
+    public static PlaceholderTemplate compile(String text) {
+        if (text == null) text = "";
+
+        int open = text.indexOf('{');
+        if (open < 0) {
+            return new PlaceholderTemplate(text, new String[]{text}, NO_KEYS);
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int literalStart = 0;
+
+        while (open >= 0) {
+            int close = findSlotEnd(text, open);
+            if (close < 0) {
+                open = text.indexOf('{', open + 1);
+                continue;
+            }
+
+            literals.add(text.substring(literalStart, open));
+            keys.add(text.substring(open + 1, close));
+            literalStart = close + 1;
+            open = text.indexOf('{', literalStart);
+        }
+        literals.add(text.substring(literalStart));
+
+        if (keys.isEmpty()) {
+            return new PlaceholderTemplate(text, new String[]{text}, NO_KEYS);
+        }
+
+        return new PlaceholderTemplate(text, literals.toArray(new String[0]), keys.toArray(new String[0]));
+    }
+
+    /**
+     * @return The index of the closing brace of a slot opened at the given index, or -1
+     */
+    private static int findSlotEnd(String text, int open) {
+        for (int i = open + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '}') {
+                return i == open + 1 ? -1 : i;
+            }
+            if (c == '{') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Render this template in a single pass
+     * @param values Looks up the value of a key, returning null to leave the slot untouched
+     * @return The rendered text
+     */
+    public String render(Function<String, String> values) {
+        if (keys.length == 0) {
+            return source;
+        }
+
+        // Resolve every slot first so the output buffer can be sized exactly
+        String[] resolved = new String[keys.length];
+        int length = literalLength;
+        for (int i = 0; i < keys.length; i++) {
+            String value = values.apply(keys[i]);
+            resolved[i] = value;
+            length += value != null ? value.length() : keys[i].length() + 2;
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < keys.length; i++) {
+            builder.append(literals[i]);
+            if (resolved[i] != null) {
+                builder.append(resolved[i]);
+            } else {
+                builder.append('{').append(keys[i]).append('}');
+            }
+        }
+        builder.append(literals[keys.length]);
+
+        return builder.toString();
+    }
+
+    /**
+     * Render this template in a single pass, appending placeholder values straight to the output
+     * @param placeholders Looks up the placeholder for a key, returning null to leave the slot untouched
+     * @return The rendered text
+     */
+    public String renderPlaceholders(Function<String, Placeholder> placeholders) {
+        return renderPlaceholders(placeholders, Placeholder::appendTo);
+    }
+
+    /**
+     * Render this template in a single pass, letting the caller write every resolved placeholder
+     * @param placeholders Looks up the placeholder for a key, returning null to leave the slot untouched
+     * @param writer Appends the value of a resolved placeholder to the output
+     * @return The rendered text
+     */
+    public String renderPlaceholders(Function<String, Placeholder> placeholders,
+                                     BiConsumer<Placeholder, StringBuilder> writer) {
+        if (keys.length == 0) {
+            return source;
+        }
+
+        Placeholder[] resolved = new Placeholder[keys.length];
+        int length = literalLength;
+        for (int i = 0; i < keys.length; i++) {
+            Placeholder placeholder = placeholders.apply(keys[i]);
+            resolved[i] = placeholder;
+            length += placeholder != null ? placeholder.estimateLength() : keys[i].length() + 2;
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < keys.length; i++) {
+            builder.append(literals[i]);
+            if (resolved[i] != null) {
+                writer.accept(resolved[i], builder);
+            } else {
+                builder.append('{').append(keys[i]).append('}');
+            }
+        }
+        builder.append(literals[keys.length]);
+
+        return builder.toString();
+    }
+
+    /**
+     * @return The text this template was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return true if this template contains at least one placeholder slot
+     */
+    public boolean hasPlaceholders() {
+        return keys.length > 0;
+    }
+
+    /**
+     * @return The number of placeholder slots, counting every occurrence of a repeated key
+     */
+    public int getSlotCount() {
+        return keys.length;
+    }
+
+    /**
+     * @param index The slot index
+     * @return The key of the slot
+     */
+    public String getSlotKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @param index The literal index, from 0 to the slot count inclusive
+     * @return The literal text preceding the slot with the same index, or trailing the last slot
+     */
+    public String getLiteral(int index) {
+        return literals[index];
+    }
+
+    /**
+     * @return The distinct placeholder keys referenced by this template, in order of appearance
+     */
+    public Set<String> getKeys() {
+        return keySet;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -1,10 +1,12 @@
 package me.levitate.hiveChat.placeholder;
 
+import me.levitate.hiveChat.cache.PlaceholderValueCache;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -12,13 +14,13 @@ import java.util.function.Function;
  */
 public class UniversalPlaceholderManager {
     
+    private static final Placeholder[] NO_PLACEHOLDERS = new Placeholder[0];
     private static final UniversalPlaceholderManager instance = new UniversalPlaceholderManager();
     
-    // Static placeholders that don't depend on a player
-    private final Map<String, String> staticPlaceholders = new ConcurrentHashMap<>();
-    
-    // Dynamic placeholders that depend on a player
-    private final Map<String, Function<Player, String>> dynamicPlaceholders = new ConcurrentHashMap<>();
+    // Rebuilt on every change and published with a single volatile write, so lookups never lock or copy
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Object writeLock = new Object();
+    private final PlaceholderValueCache valueCache = new PlaceholderValueCache();
     
     private UniversalPlaceholderManager() {}
     
@@ -40,7 +42,11 @@ public class UniversalPlaceholderManager {
         if (key == null || key.isEmpty()) {
             throw new IllegalArgumentException("Placeholder key cannot be null or empty");
         }
-        staticPlaceholders.put(key, value != null ? value : "");
+        synchronized (writeLock) {
+            Map<String, Placeholder> statics = new LinkedHashMap<>(snapshot.statics);
+            statics.put(key, Placeholder.of(key, value != null ? value : ""));
+            snapshot = new Snapshot(statics, snapshot.dynamics);
+        }
         return this;
     }
     
@@ -51,24 +57,99 @@ public class UniversalPlaceholderManager {
      * @return This manager for chaining
      */
     public UniversalPlaceholderManager addDynamicPlaceholder(String key, Function<Player, String> valueSupplier) {
+        return addDynamicPlaceholder(key, valueSupplier, 0L);
+    }
+    
+    /**
+     * Add a dynamic placeholder whose value is cached per player
+     * @param key The placeholder key (without curly braces)
+     * @param valueSupplier A function that accepts a Player and returns the replacement value
+     * @param ttl How long a player's value is reused before it is computed again
+     * @return This manager for chaining
+     */
+    public UniversalPlaceholderManager addDynamicPlaceholder(String key, Function<Player, String> valueSupplier, Duration ttl) {
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Time to live cannot be null or negative");
+        }
+        return addDynamicPlaceholder(key, valueSupplier, ttl.toNanos());
+    }
+    
+    /**
+     * Add a dynamic placeholder whose value is cached per player
+     * @param key The placeholder key (without curly braces)
+     * @param valueSupplier A function that accepts a Player and returns the replacement value
+     * @param ttlTicks How long a player's value is reused before it is computed again, in ticks
+     * @return This manager for chaining
+     */
+    public UniversalPlaceholderManager addDynamicPlaceholder(String key, Function<Player, String> valueSupplier, int ttlTicks) {
+        if (ttlTicks < 0) {
+            throw new IllegalArgumentException("Time to live cannot be negative");
+        }
+        return addDynamicPlaceholder(key, valueSupplier, Duration.ofMillis(ttlTicks * 50L));
+    }
+    
+    private UniversalPlaceholderManager addDynamicPlaceholder(String key, Function<Player, String> valueSupplier, long ttlNanos) {
         if (key == null || key.isEmpty()) {
             throw new IllegalArgumentException("Placeholder key cannot be null or empty");
         }
         if (valueSupplier == null) {
             throw new IllegalArgumentException("Value supplier cannot be null");
         }
-        dynamicPlaceholders.put(key, valueSupplier);
+        synchronized (writeLock) {
+            Map<String, DynamicPlaceholder> dynamics = new LinkedHashMap<>(snapshot.dynamics);
+            dynamics.put(key, new DynamicPlaceholder(valueSupplier, ttlNanos));
+            snapshot = new Snapshot(snapshot.statics, dynamics);
+        }
+        // Values cached by a previous registration are stale
+        valueCache.invalidateKey(key);
+        return this;
+    }
+    
+    /**
+     * Invalidate the cached value of a dynamic placeholder for a player, so the next send computes it again
+     * @param player The player
+     * @param key The placeholder key
+     * @return This manager for chaining
+     */
+    public UniversalPlaceholderManager invalidate(Player player, String key) {
+        valueCache.invalidate(player, key);
         return this;
     }
     
+    /**
+     * Invalidate every cached dynamic placeholder value of a player
+     * @param player The player
+     * @return This manager for chaining
+     */
+    public UniversalPlaceholderManager invalidate(Player player) {
+        valueCache.invalidate(player);
+        return this;
+    }
+    
+    /**
+     * @return The per-player cache of dynamic placeholder values
+     */
+    public PlaceholderValueCache getValueCache() {
+        return valueCache;
+    }
+    
     /**
      * Remove a universal placeholder
      * @param key The placeholder key
      * @return This manager for chaining
      */
     public UniversalPlaceholderManager removePlaceholder(String key) {
-        staticPlaceholders.remove(key);
-        dynamicPlaceholders.remove(key);
+        synchronized (writeLock) {
+            if (!snapshot.statics.containsKey(key) && !snapshot.dynamics.containsKey(key)) {
+                return this;
+            }
+            Map<String, Placeholder> statics = new LinkedHashMap<>(snapshot.statics);
+            Map<String, DynamicPlaceholder> dynamics = new LinkedHashMap<>(snapshot.dynamics);
+            statics.remove(key);
+            dynamics.remove(key);
+            snapshot = new Snapshot(statics, dynamics);
+        }
+        valueCache.invalidateKey(key);
         return this;
     }
     
@@ -77,19 +158,45 @@ public class UniversalPlaceholderManager {
      * @return This manager for chaining
      */
     public UniversalPlaceholderManager clearPlaceholders() {
-        staticPlaceholders.clear();
-        dynamicPlaceholders.clear();
+        synchronized (writeLock) {
+            snapshot = Snapshot.EMPTY;
+        }
+        valueCache.clear();
         return this;
     }
     
+    /**
+     * Look up a universal placeholder by key, evaluating only that placeholder.
+     * Dynamic placeholders take precedence over static ones with the same key.
+     * @param key The placeholder key
+     * @param player The player context, or null for static placeholders only
+     * @return The placeholder, or null if no universal placeholder has this key
+     */
+    public Placeholder getPlaceholder(String key, Player player) {
+        Snapshot current = snapshot;
+        if (player != null) {
+            DynamicPlaceholder dynamic = current.dynamics.get(key);
+            if (dynamic != null) {
+                return evaluate(key, dynamic, player);
+            }
+        }
+        return current.statics.get(key);
+    }
+    
+    /**
+     * @param key The placeholder key
+     * @return true if the key is a dynamic placeholder, whose value depends on the player
+     */
+    public boolean isDynamic(String key) {
+        return snapshot.dynamics.containsKey(key);
+    }
+    
     /**
      * Get all static placeholders as Placeholder objects
-     * @return An array of Placeholder objects
+     * @return A shared array of Placeholder objects, which must not be modified
      */
     public Placeholder[] getStaticPlaceholders() {
-        return staticPlaceholders.entrySet().stream()
-                .map(entry -> Placeholder.of(entry.getKey(), entry.getValue()))
-                .toArray(Placeholder[]::new);
+        return snapshot.staticArray;
     }
     
     /**
@@ -98,21 +205,17 @@ public class UniversalPlaceholderManager {
      * @return An array of Placeholder objects
      */
     public Placeholder[] getDynamicPlaceholders(Player player) {
-        if (player == null) {
-            return new Placeholder[0];
+        Snapshot current = snapshot;
+        if (player == null || current.dynamics.isEmpty()) {
+            return NO_PLACEHOLDERS;
         }
         
-        return dynamicPlaceholders.entrySet().stream()
-                .map(entry -> {
-                    String value;
-                    try {
-                        value = entry.getValue().apply(player);
-                    } catch (Exception e) {
-                        value = "";
-                    }
-                    return Placeholder.of(entry.getKey(), value);
-                })
-                .toArray(Placeholder[]::new);
+        Placeholder[] placeholders = new Placeholder[current.dynamics.size()];
+        int index = 0;
+        for (Map.Entry<String, DynamicPlaceholder> entry : current.dynamics.entrySet()) {
+            placeholders[index++] = evaluate(entry.getKey(), entry.getValue(), player);
+        }
+        return placeholders;
     }
     
     /**
@@ -121,25 +224,24 @@ public class UniversalPlaceholderManager {
      * @return An array of combined Placeholder objects
      */
     public Placeholder[] getAllPlaceholders(Player player) {
-        if (player == null) {
-            return getStaticPlaceholders();
+        Snapshot current = snapshot;
+        if (player == null || current.dynamics.isEmpty()) {
+            return current.staticArray;
         }
         
-        Map<String, String> allValues = new HashMap<>(staticPlaceholders);
-        
-        // Add dynamic placeholders
-        for (Map.Entry<String, Function<Player, String>> entry : dynamicPlaceholders.entrySet()) {
-            try {
-                String value = entry.getValue().apply(player);
-                allValues.put(entry.getKey(), value != null ? value : "");
-            } catch (Exception ignored) {
-                // Skip failed dynamic placeholders
+        Placeholder[] placeholders = new Placeholder[current.staticArray.length + current.dynamics.size()];
+        int index = 0;
+        for (Placeholder placeholder : current.staticArray) {
+            // Dynamic placeholders replace static ones with the same key
+            if (!current.dynamics.containsKey(placeholder.getKey())) {
+                placeholders[index++] = placeholder;
             }
         }
+        for (Map.Entry<String, DynamicPlaceholder> entry : current.dynamics.entrySet()) {
+            placeholders[index++] = evaluate(entry.getKey(), entry.getValue(), player);
+        }
         
-        return allValues.entrySet().stream()
-                .map(entry -> Placeholder.of(entry.getKey(), entry.getValue()))
-                .toArray(Placeholder[]::new);
+        return index == placeholders.length ? placeholders : Arrays.copyOf(placeholders, index);
     }
     
     /**
@@ -147,6 +249,43 @@ public class UniversalPlaceholderManager {
      * @return true if there are universal placeholders, false otherwise
      */
     public boolean hasPlaceholders() {
-        return !staticPlaceholders.isEmpty() || !dynamicPlaceholders.isEmpty();
+        return !snapshot.isEmpty();
+    }
+    
+    private Placeholder evaluate(String key, DynamicPlaceholder dynamic, Player player) {
+        if (dynamic.ttlNanos > 0) {
+            return valueCache.get(player, key, dynamic.supplier, dynamic.ttlNanos);
+        }
+        
+        String value;
+        try {
+            value = dynamic.supplier.apply(player);
+        } catch (Exception e) {
+            value = "";
+        }
+        return Placeholder.of(key, value != null ? value : "");
+    }
+    
+    private record DynamicPlaceholder(Function<Player, String> supplier, long ttlNanos) {}
+    
+    /**
+     * An immutable view of the registered placeholders
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+        
+        final Map<String, Placeholder> statics;
+        final Placeholder[] staticArray;
+        final Map<String, DynamicPlaceholder> dynamics;
+        
+        Snapshot(Map<String, Placeholder> statics, Map<String, DynamicPlaceholder> dynamics) {
+            this.statics = Map.copyOf(statics);
+            this.staticArray = statics.values().toArray(NO_PLACEHOLDERS);
+            this.dynamics = Map.copyOf(dynamics);
+        }
+        
+        boolean isEmpty() {
+            return statics.isEmpty() && dynamics.isEmpty();
+        }
     }
-} 
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package me.levitate.hiveChat.scheduler;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
@@ -16,12 +17,13 @@ public class PlatformScheduler {
 
     private Object globalRegionScheduler;
     private Object asyncScheduler;
+    private Object regionScheduler;
     private Method runTask;
     private Method runTaskAsync;
     private Method runTaskTimer;
     private Method runTaskLater;
     private Method runAtLocation;
-    private Method runAtEntity;
+    private Method runAtChunk;
     private Method cancelAllTasks;
 
     public enum PlatformType {
@@ -87,15 +89,16 @@ public class PlatformScheduler {
             this.runTaskAsync = asyncSchedulerClass.getMethod("runNow", Plugin.class, Consumer.class);
             this.cancelAllTasks = globalSchedulerClass.getMethod("cancelTasks", Plugin.class);
 
+            // Looked up once, scheduling a task must not pay for reflection lookups
             Method getRegionScheduler = Bukkit.class.getMethod("getRegionScheduler");
-            Object regionScheduler = getRegionScheduler.invoke(null);
+            this.regionScheduler = getRegionScheduler.invoke(null);
             this.runAtLocation = regionScheduler.getClass().getMethod("run", Plugin.class, Location.class,
                     Consumer.class);
+            this.runAtChunk = regionScheduler.getClass().getMethod("run", Plugin.class, World.class, int.class,
+                    int.class, Consumer.class);
 
-            Method getEntityScheduler = Bukkit.class.getMethod("getEntityScheduler");
-            Object entityScheduler = getEntityScheduler.invoke(null);
-            this.runAtEntity = entityScheduler.getClass().getMethod("run", Entity.class, Plugin.class, Consumer.class,
-                    Runnable.class);
+            // Entities carry their own scheduler, reached through Entity#getScheduler
+            Entity.class.getMethod("getScheduler");
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize Folia schedulers", e);
@@ -172,8 +175,6 @@ public class PlatformScheduler {
     public void runAtLocation(Location location, Runnable task) {
         if (isFolia) {
             try {
-                Method getRegionScheduler = Bukkit.class.getMethod("getRegionScheduler");
-                Object regionScheduler = getRegionScheduler.invoke(null);
                 runAtLocation.invoke(regionScheduler, plugin, location, (Consumer<Object>) t -> task.run());
             } catch (Exception e) {
                 throw new RuntimeException("Failed to run location task on Folia", e);
@@ -183,15 +184,33 @@ public class PlatformScheduler {
         }
     }
 
+    /**
+     * Run a task on the region owning a chunk on Folia, on the main thread elsewhere
+     */
+    public void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        if (isFolia) {
+            try {
+                runAtChunk.invoke(regionScheduler, plugin, world, chunkX, chunkZ, (Consumer<Object>) t -> task.run());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to run chunk task on Folia", e);
+            }
+        } else {
+            runTask(task);
+        }
+    }
+
     public <T extends Entity> void runAtEntity(T entity, Consumer<T> task) {
+        runAtEntity(entity, task, () -> {
+        });
+    }
+
+    public <T extends Entity> void runAtEntity(T entity, Consumer<T> task, Runnable entityRetiredCallback) {
         if (isFolia) {
             try {
-                Method getEntityScheduler = Bukkit.class.getMethod("getEntityScheduler");
-                Object entityScheduler = getEntityScheduler.invoke(null);
-                Runnable entityRetiredCallback = () -> {
-                };
-                runAtEntity.invoke(entityScheduler, entity, plugin, (Consumer<Object>) t -> task.accept(entity),
-                        entityRetiredCallback);
+                // No task is scheduled for an entity that is already retired, and the callback is not run either
+                if (entity.getScheduler().run(plugin, t -> task.accept(entity), entityRetiredCallback) == null) {
+                    entityRetiredCallback.run();
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Failed to run entity task on Folia", e);
             }
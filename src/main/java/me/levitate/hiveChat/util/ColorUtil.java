@@ -2,32 +2,171 @@ package me.levitate.hiveChat.util;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
-
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 public final class ColorUtil {
-    private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
+    // MiniMessage tags for the legacy codes 0-9 and a-v, null where there is no code
+    private static final String[] LEGACY_TAGS = new String[32];
+    private static volatile boolean legacyCodes = false;
+
+    static {
+        String[] colors = {"black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple", "gold", "gray",
+                "dark_gray", "blue", "green", "aqua", "red", "light_purple", "yellow", "white"};
+        for (int i = 0; i < colors.length; i++) {
+            LEGACY_TAGS[i] = "<" + colors[i] + ">";
+        }
+        LEGACY_TAGS[legacyIndex('k')] = "<obfuscated>";
+        LEGACY_TAGS[legacyIndex('l')] = "<bold>";
+        LEGACY_TAGS[legacyIndex('m')] = "<strikethrough>";
+        LEGACY_TAGS[legacyIndex('n')] = "<underlined>";
+        LEGACY_TAGS[legacyIndex('o')] = "<italic>";
+        LEGACY_TAGS[legacyIndex('r')] = "<reset>";
+    }
+
+    /**
+     * Set whether legacy &amp;a style codes are translated along with &amp;#RRGGBB colors.
+     * Off by default, since plain text such as "R&amp;D" would otherwise change color.
+     * @param enabled true to translate legacy codes
+     */
+    public static void setLegacyCodes(boolean enabled) {
+        legacyCodes = enabled;
+    }
+
+    public static boolean isLegacyCodes() {
+        return legacyCodes;
+    }
 
     public static String translateHexColors(String message) {
+        return translate(message, false);
+    }
+
+    /**
+     * Translate &amp;#RRGGBB colors, and legacy codes when enabled, into MiniMessage tags in one pass
+     * @param message The message
+     * @return The translated message, or the same instance if there was nothing to translate
+     */
+    public static String translateColors(String message) {
+        return translate(message, legacyCodes);
+    }
+
+    private static String translate(String message, boolean legacy) {
         if (message == null) return null;
 
-        Matcher matcher = HEX_PATTERN.matcher(message);
-        StringBuilder buffer = new StringBuilder();
+        int index = message.indexOf('&');
+        if (index < 0) return message;
+
+        StringBuilder buffer = null;
+        int copied = 0;
+        int length = message.length();
+        while (index >= 0 && index + 1 < length) {
+            char code = message.charAt(index + 1);
+            int end = -1;
+            String tag = null;
+
+            if (code == '#' && isHexColor(message, index + 2)) {
+                end = index + 8;
+            } else if (legacy) {
+                int legacyIndex = legacyIndex(code);
+                if (legacyIndex >= 0 && LEGACY_TAGS[legacyIndex] != null) {
+                    tag = LEGACY_TAGS[legacyIndex];
+                    end = index + 2;
+                }
+            }
 
-        while (matcher.find()) {
-            String color = matcher.group(1);
-            matcher.appendReplacement(buffer, "<#" + color + ">");
+            if (end < 0) {
+                index = message.indexOf('&', index + 1);
+                continue;
+            }
+
+            if (buffer == null) {
+                buffer = new StringBuilder(length + 16);
+            }
+            buffer.append(message, copied, index);
+            if (tag != null) {
+                buffer.append(tag);
+            } else {
+                buffer.append('<').append(message, index + 1, end).append('>');
+            }
+            copied = end;
+            index = message.indexOf('&', end);
         }
 
-        matcher.appendTail(buffer);
+        if (buffer == null) return message;
+
+        buffer.append(message, copied, length);
         return buffer.toString();
     }
 
+    private static boolean isHexColor(String message, int start) {
+        if (start + 6 > message.length()) return false;
+
+        for (int i = start; i < start + 6; i++) {
+            char c = message.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int legacyIndex(char code) {
+        if (code >= '0' && code <= '9') return code - '0';
+        if (code >= 'a' && code <= 'v') return code - 'a' + 10;
+        if (code >= 'A' && code <= 'V') return code - 'A' + 10;
+        return -1;
+    }
+
     public static Component parseMessageFormats(String message) {
         if (message == null) return Component.empty();
 
-        String processed = translateHexColors(message);
+        // Nothing for MiniMessage or the color translation to do
+        String processed = translateColors(message);
+        if (processed == message && message.indexOf('<') < 0 && message.indexOf('\\') < 0) {
+            return Component.text(message);
+        }
+
         return MiniMessage.miniMessage().deserialize(processed);
     }
-}
\ No newline at end of file
+
+    public static Component parseMessageFormats(String message, TagResolver resolver) {
+        if (message == null) return Component.empty();
+
+        String processed = translateColors(message);
+        return MiniMessage.miniMessage().deserialize(processed, resolver);
+    }
+
+    /**
+     * Escape text so MiniMessage shows its tags instead of parsing them
+     * @param text The text
+     * @return The escaped text
+     */
+    public static String escapeTags(String text) {
+        return MiniMessage.miniMessage().escapeTags(text);
+    }
+
+    /**
+     * Escape text placed inside a MiniMessage tag, such as a quoted hover argument,
+     * so it can neither open tags nor close the quotes around it
+     * @param text The text
+     * @return The escaped text
+     */
+    public static String escapeArgument(String text) {
+        String escaped = escapeTags(text);
+        if (escaped.indexOf('\'') < 0 && escaped.indexOf('"') < 0) return escaped;
+
+        StringBuilder builder = new StringBuilder(escaped.length() + 8);
+        for (int i = 0; i < escaped.length(); i++) {
+            char c = escaped.charAt(i);
+            if (c == '\'' || c == '"') {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    public static String plainText(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+}
@@ -3,6 +3,7 @@ package me.levitate.hiveChat.util;
 import me.levitate.hiveChat.scheduler.PlatformScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
@@ -128,6 +129,25 @@ public class ServerUtil {
         }
     }
 
+    /**
+     * Executes a task at an entity's location (region-aware in Folia), or the retired callback
+     * if the entity is removed before the task can run
+     */
+    public static <T extends Entity> void runAtEntity(T entity, Consumer<T> task, Runnable retired) {
+        ensureInitialized();
+        if (entity == null) {
+            retired.run();
+            return;
+        }
+
+        try {
+            platformScheduler.runAtEntity(entity, task, retired);
+        } catch (Exception e) {
+            logError("Error running task at entity", e);
+            retired.run();
+        }
+    }
+
     /**
      * Executes a task at a specific location (region-aware in Folia)
      */
@@ -143,6 +163,21 @@ public class ServerUtil {
         }
     }
 
+    /**
+     * Executes a task on the region owning a chunk (region-aware in Folia)
+     */
+    public static void runAtChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        ensureInitialized();
+        if (world == null)
+            return;
+
+        try {
+            platformScheduler.runAtChunk(world, chunkX, chunkZ, task);
+        } catch (Exception e) {
+            logError("Error running task at chunk", e);
+        }
+    }
+
     /**
      * Executes a task on the global scheduler
      */
@@ -187,18 +222,16 @@ public class ServerUtil {
     }
 
     /**
-     * Check if a specific entity is in the current server thread's region
-     * Useful for determining if an operation should be scheduled or can run
-     * directly
+     * Check if a specific entity is owned by the current thread: its region's thread on Folia,
+     * the main thread elsewhere. Useful for determining if an operation should be scheduled
+     * or can run directly
      */
     public static boolean isEntityInCurrentRegion(Entity entity) {
         ensureInitialized();
-        if (!isFolia() || entity == null)
+        if (entity == null)
             return true;
 
-        // For now, return false to always schedule the task
-        // This could be enhanced with actual region checking in the future
-        return !isFolia();
+        return isFolia() ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
     }
 
     /**
@@ -0,0 +1,42 @@
+package me.levitate.hiveChat.cache;
+
+import me.levitate.hiveChat.cache.PlayerLocationIndex.RegionSection;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PlayerLocationIndexTest {
+    private static final UUID WORLD = UUID.randomUUID();
+
+    @Test
+    void sectionSpansSixteenChunks() {
+        assertEquals(new RegionSection(WORLD, 0, 0), RegionSection.at(WORLD, 0, 0));
+        assertEquals(new RegionSection(WORLD, 0, 0), RegionSection.at(WORLD, 255.9, 255.9));
+        assertEquals(new RegionSection(WORLD, 1, 0), RegionSection.at(WORLD, 256, 0));
+        assertEquals(new RegionSection(WORLD, 0, 1), RegionSection.at(WORLD, 0, 256));
+    }
+
+    @Test
+    void negativeCoordinatesRoundDown() {
+        assertEquals(new RegionSection(WORLD, -1, -1), RegionSection.at(WORLD, -0.5, -0.5));
+        assertEquals(new RegionSection(WORLD, -1, -1), RegionSection.at(WORLD, -256, -256));
+        assertEquals(new RegionSection(WORLD, -2, -1), RegionSection.at(WORLD, -256.5, -1));
+    }
+
+    @Test
+    void sectionsDifferByWorld() {
+        assertNotEquals(RegionSection.at(WORLD, 10, 10), RegionSection.at(UUID.randomUUID(), 10, 10));
+    }
+
+    @Test
+    void sectionChunkIsInsideSection() {
+        RegionSection section = RegionSection.at(WORLD, -300, 700);
+
+        assertEquals(-32, section.chunkX());
+        assertEquals(32, section.chunkZ());
+        assertEquals(section, RegionSection.at(WORLD, section.chunkX() << 4, section.chunkZ() << 4));
+    }
+}
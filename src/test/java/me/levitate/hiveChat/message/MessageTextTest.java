@@ -0,0 +1,69 @@
+package me.levitate.hiveChat.message;
+
+import me.levitate.hiveChat.placeholder.Placeholder;
+import me.levitate.hiveChat.util.ColorUtil;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageTextTest {
+
+    @Test
+    void staticTextIsPrebuilt() {
+        MessageText text = MessageText.of("<green>Welcome");
+
+        assertTrue(text.isStatic());
+        assertFalse(text.hasTree());
+        assertEquals("Welcome", ColorUtil.plainText(text.getStaticComponent()));
+    }
+
+    @Test
+    void slotsInTextUseTree() {
+        assertTrue(MessageText.of("<green>Hi {player}</green>").hasTree());
+        assertTrue(MessageText.of("<gradient:red:blue>Fancy</gradient> {player}").hasTree());
+        assertTrue(MessageText.of("\\<gradient> {player}").hasTree());
+    }
+
+    @Test
+    void slotsInsideTagsUseStringPath() {
+        assertFalse(MessageText.of("<color:{color}>Colored").hasTree());
+        assertFalse(MessageText.of("<hover:show_text:'{text}'>Hover</hover>").hasTree());
+    }
+
+    @Test
+    void slotsInsideModifyingTagsUseStringPath() {
+        assertFalse(MessageText.of("<gradient:red:blue>{player}</gradient>").hasTree());
+        assertFalse(MessageText.of("<RAINBOW>{player}").hasTree());
+        assertFalse(MessageText.of("<rainbow><gradient>x</gradient>{player}").hasTree());
+    }
+
+    @Test
+    void resetEndsModifyingTags() {
+        assertTrue(MessageText.of("<rainbow>Fancy<reset> {player}").hasTree());
+    }
+
+    @Test
+    void papiTokensUseStringPath() {
+        MessageText text = MessageText.of("{player} has %vault_eco_balance%");
+
+        assertFalse(text.isStatic());
+        assertFalse(text.hasTree());
+        assertEquals(List.of("%vault_eco_balance%"), text.getPapiTokens());
+    }
+
+    @Test
+    void rendersTreeWithPlaceholders() {
+        MessageText text = MessageText.of("<green>Hi {player}, {missing}");
+        Placeholder[] placeholders = {Placeholder.unparsed("player", "<b>Bob")};
+
+        Component rendered = text.renderTree(key -> Placeholder.find(key, placeholders));
+        assertEquals("Hi <b>Bob, {missing}", ColorUtil.plainText(rendered));
+        assertNull(text.getStaticComponent());
+    }
+}
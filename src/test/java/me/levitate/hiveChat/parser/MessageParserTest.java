@@ -0,0 +1,47 @@
+package me.levitate.hiveChat.parser;
+
+import me.levitate.hiveChat.placeholder.Placeholder;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageParserTest {
+    private static final List<Placeholder> VALUES = List.of(Placeholder.unparsed("name", "<red>Bob's \"x\""));
+
+    private static String marker(int index) {
+        return "\uFDD0" + index + "\uFDD1";
+    }
+
+    @Test
+    void escapesValueInText() {
+        assertEquals("Hi \\<red>Bob's \"x\"!", MessageParser.insertVerbatim("Hi " + marker(0) + "!", VALUES, null));
+    }
+
+    @Test
+    void escapesValueInsideTagArgument() {
+        String text = "<hover:show_text:'" + marker(0) + "'>hover</hover>";
+
+        assertEquals("<hover:show_text:'\\<red>Bob\\'s \\\"x\\\"'>hover</hover>",
+                MessageParser.insertVerbatim(text, VALUES, null));
+    }
+
+    @Test
+    void insertsValueAsComponent() {
+        List<Component> inserts = new ArrayList<>();
+
+        assertEquals("<gold><hivechat_value:0></gold>",
+                MessageParser.insertVerbatim("<gold>" + marker(0) + "</gold>", VALUES, inserts));
+        assertEquals(List.of(Component.text("<red>Bob's \"x\"")), inserts);
+    }
+
+    @Test
+    void leavesUnknownMarkersAndEscapes() {
+        String text = "\\<b> " + marker(5) + " \uFDD0x\uFDD1";
+
+        assertEquals(text, MessageParser.insertVerbatim(text, VALUES, null));
+    }
+}
@@ -0,0 +1,43 @@
+package me.levitate.hiveChat.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PapiResolverTest {
+
+    @Test
+    void extractsDistinctTokensInOrder() {
+        assertArrayEquals(new String[]{"%player_name%", "%vault_eco_balance%"},
+                PapiResolver.extractTokens("%player_name% has %vault_eco_balance%, %player_name%"));
+    }
+
+    @Test
+    void tokensNeedAnIdentifierAndParams() {
+        assertArrayEquals(new String[0], PapiResolver.extractTokens("100% sure"));
+        assertArrayEquals(new String[0], PapiResolver.extractTokens("%name%"));
+        assertArrayEquals(new String[0], PapiResolver.extractTokens("%_leading%"));
+        assertArrayEquals(new String[0], PapiResolver.extractTokens("%%"));
+    }
+
+    @Test
+    void tokensHaveNoWhitespace() {
+        assertArrayEquals(new String[0], PapiResolver.extractTokens("50% off for 20% of_players"));
+        assertArrayEquals(new String[]{"%server_online%"}, PapiResolver.extractTokens("10% %server_online%"));
+    }
+
+    @Test
+    void unclosedTokenDoesNotHideTheNext() {
+        assertArrayEquals(new String[]{"%player_name%"}, PapiResolver.extractTokens("%broken %player_name%"));
+    }
+
+    @Test
+    void containsTokensMatchesExtract() {
+        assertTrue(PapiResolver.containsTokens("Balance: %vault_eco_balance%"));
+        assertTrue(PapiResolver.containsTokens("100% %player_name%"));
+        assertFalse(PapiResolver.containsTokens("100% sure"));
+        assertFalse(PapiResolver.containsTokens("No tokens"));
+    }
+}
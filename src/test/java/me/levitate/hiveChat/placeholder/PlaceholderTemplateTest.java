@@ -0,0 +1,90 @@
+package me.levitate.hiveChat.placeholder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlaceholderTemplateTest {
+
+    @Test
+    void splitsLiteralsAndSlots() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("Hi {player}, you have {coins} coins");
+
+        assertEquals(2, template.getSlotCount());
+        assertEquals("player", template.getSlotKey(0));
+        assertEquals("coins", template.getSlotKey(1));
+        assertEquals("Hi ", template.getLiteral(0));
+        assertEquals(", you have ", template.getLiteral(1));
+        assertEquals(" coins", template.getLiteral(2));
+    }
+
+    @Test
+    void slotsAtBothEnds() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{a}{b}");
+
+        assertEquals(2, template.getSlotCount());
+        assertEquals("", template.getLiteral(0));
+        assertEquals("", template.getLiteral(1));
+        assertEquals("", template.getLiteral(2));
+    }
+
+    @Test
+    void ignoresEmptyUnclosedAndNestedBraces() {
+        assertFalse(PlaceholderTemplate.compile("{} and } and {").hasPlaceholders());
+        assertFalse(PlaceholderTemplate.compile("trailing {open").hasPlaceholders());
+
+        PlaceholderTemplate nested = PlaceholderTemplate.compile("{outer {inner}}");
+        assertEquals(1, nested.getSlotCount());
+        assertEquals("inner", nested.getSlotKey(0));
+        assertEquals("{outer ", nested.getLiteral(0));
+        assertEquals("}", nested.getLiteral(1));
+    }
+
+    @Test
+    void keysAreDistinctInOrder() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{b} {a} {b}");
+
+        assertEquals(3, template.getSlotCount());
+        assertEquals(List.of("b", "a"), List.copyOf(template.getKeys()));
+    }
+
+    @Test
+    void nullCompilesToEmpty() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile(null);
+
+        assertEquals("", template.getSource());
+        assertFalse(template.hasPlaceholders());
+    }
+
+    @Test
+    void renderLeavesUnknownSlots() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{a} and {b}");
+
+        assertEquals("1 and {b}", template.render(Map.of("a", "1")::get));
+    }
+
+    @Test
+    void renderWithoutSlotsReturnsSource() {
+        String text = "No slots here";
+        PlaceholderTemplate template = PlaceholderTemplate.compile(text);
+
+        assertSame(text, template.render(key -> "x"));
+        assertTrue(template.getKeys().isEmpty());
+    }
+
+    @Test
+    void renderPlaceholdersUsesWriter() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("<{a}> {missing}");
+        Placeholder[] placeholders = {Placeholder.of("a", "value")};
+
+        assertEquals("<value> {missing}", template.renderPlaceholders(key -> Placeholder.find(key, placeholders)));
+        assertEquals("<[value]> {missing}", template.renderPlaceholders(key -> Placeholder.find(key, placeholders),
+                (placeholder, builder) -> builder.append('[').append(placeholder.getValue()).append(']')));
+    }
+}
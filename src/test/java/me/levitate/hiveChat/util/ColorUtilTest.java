@@ -0,0 +1,107 @@
+package me.levitate.hiveChat.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ColorUtilTest {
+    // The regex chain the scanner replaced, a hex pass followed by a legacy code pass
+    private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
+    private static final Pattern LEGACY_PATTERN = Pattern.compile("&([0-9a-fk-or])", Pattern.CASE_INSENSITIVE);
+    private static final String LEGACY_CODES = "0123456789abcdefklmnor";
+    private static final String[] LEGACY_NAMES = {"black", "dark_blue", "dark_green", "dark_aqua", "dark_red",
+            "dark_purple", "gold", "gray", "dark_gray", "blue", "green", "aqua", "red", "light_purple", "yellow",
+            "white", "obfuscated", "bold", "strikethrough", "underlined", "italic", "reset"};
+
+    @AfterEach
+    void resetLegacyCodes() {
+        ColorUtil.setLegacyCodes(false);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "No codes at all",
+            "R&D & friends &",
+            "&#FFAA00Gold",
+            "&#ffaa00lower &#A1b2C3mixed",
+            "&#FFAA0 too short &#GGGGGG not hex",
+            "&&#123456 doubled &#12345&#654321",
+            "<red>&#00FF00 inside MiniMessage</red>",
+            "trailing &#"
+    })
+    void hexMatchesRegex(String message) {
+        assertEquals(translateHexWithRegex(message), ColorUtil.translateHexColors(message));
+        assertEquals(translateHexWithRegex(message), ColorUtil.translateColors(message));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "No codes at all",
+            "&6Gold &aGreen &7Gray",
+            "&6&lBold gold&r plain",
+            "&A&B&C upper case",
+            "&z &g &x &# not codes",
+            "&&a doubled and trailing &",
+            "&#FFAA00Hex &cthen legacy",
+            "&k&m&n&o&0&1&2&3&4&5&8&9&b&d&e&f"
+    })
+    void legacyMatchesRegex(String message) {
+        ColorUtil.setLegacyCodes(true);
+        assertEquals(translateLegacyWithRegex(translateHexWithRegex(message)), ColorUtil.translateColors(message));
+    }
+
+    @Test
+    void legacyCodesOffByDefault() {
+        assertEquals("&6R&D", ColorUtil.translateColors("&6R&D"));
+    }
+
+    @Test
+    void untouchedMessageIsSameInstance() {
+        String message = "Nothing & nobody";
+        assertSame(message, ColorUtil.translateColors(message));
+        assertNull(ColorUtil.translateColors(null));
+    }
+
+    @Test
+    void escapeTagsKeepsTagsAsText() {
+        assertEquals("\\<red>Hi", ColorUtil.escapeTags("<red>Hi"));
+        assertEquals("<red>Hi", ColorUtil.plainText(ColorUtil.parseMessageFormats(ColorUtil.escapeTags("<red>Hi"))));
+    }
+
+    @Test
+    void escapeArgumentEscapesQuotes() {
+        assertEquals("\\<b>it\\'s \\\"x\\\"", ColorUtil.escapeArgument("<b>it's \"x\""));
+        assertEquals("plain", ColorUtil.escapeArgument("plain"));
+    }
+
+    private static String translateHexWithRegex(String message) {
+        Matcher matcher = HEX_PATTERN.matcher(message);
+        StringBuilder buffer = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(buffer, "<#" + matcher.group(1) + ">");
+        }
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+
+    private static String translateLegacyWithRegex(String message) {
+        Matcher matcher = LEGACY_PATTERN.matcher(message);
+        StringBuilder buffer = new StringBuilder();
+        while (matcher.find()) {
+            int code = LEGACY_CODES.indexOf(Character.toLowerCase(matcher.group(1).charAt(0)));
+            matcher.appendReplacement(buffer, "<" + LEGACY_NAMES[code] + ">");
+        }
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+}